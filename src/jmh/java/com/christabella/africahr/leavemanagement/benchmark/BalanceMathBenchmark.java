@@ -0,0 +1,129 @@
+package com.christabella.africahr.leavemanagement.benchmark;
+
+import com.christabella.africahr.leavemanagement.dto.LeaveDaysSerializer;
+import com.christabella.africahr.leavemanagement.entity.LeaveBalance;
+import com.christabella.africahr.leavemanagement.entity.LeaveType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-row balance arithmetic as done by {@code LeaveBalanceService}: reading the stored
+ * remaining balance, recomputing and rendering it, and one monthly accrual step. The
+ * {@code legacy*} benchmarks keep the old String/{@code Double.parseDouble}/{@code String.format}
+ * representation as a baseline for the fixed-point {@code remaining_days} column.
+ * Scores are per balance row.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BalanceMathBenchmark {
+
+    private static final int ROWS = 1_000;
+    private static final BigDecimal MONTHLY_ACCRUAL = new BigDecimal("1.66");
+
+    private LeaveBalance[] balances;
+    private String[] legacyRemaining;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        Random random = new Random(7);
+        LeaveType annual = LeaveType.builder().id(1L).name("Annual Leave").defaultBalance(20).build();
+        balances = new LeaveBalance[ROWS];
+        legacyRemaining = new String[ROWS];
+        for (int i = 0; i < ROWS; i++) {
+            double used = random.nextInt(30) / 2.0;
+            double carryOver = random.nextInt(6);
+            double remaining = annual.getDefaultBalance() + carryOver - used;
+            balances[i] = LeaveBalance.builder()
+                    .userId("user-" + i)
+                    .leaveType(annual)
+                    .defaultBalance(toDays(annual.getDefaultBalance()))
+                    .usedLeave(toDays(used))
+                    .carryOver(toDays(carryOver))
+                    .remainingLeave(toDays(remaining))
+                    .year(2025)
+                    .build();
+            legacyRemaining[i] = format(remaining);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void legacyParseRemaining(Blackhole blackhole) {
+        for (String remaining : legacyRemaining) {
+            blackhole.consume(Double.parseDouble(remaining));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void legacyComputeAndFormatRemaining(Blackhole blackhole) {
+        for (LeaveBalance balance : balances) {
+            double remaining = balance.getDefaultBalance().doubleValue() + balance.getCarryOver().doubleValue()
+                    - balance.getUsedLeave().doubleValue();
+            blackhole.consume(format(remaining));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void legacyAccrueRow() {
+        for (int i = 0; i < ROWS; i++) {
+            double remaining = Double.parseDouble(legacyRemaining[i]);
+            double newBalance = Math.min(remaining + 1.66, balances[i].getLeaveType().getDefaultBalance());
+            legacyRemaining[i] = format(newBalance);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void computeRemaining(Blackhole blackhole) {
+        for (LeaveBalance balance : balances) {
+            blackhole.consume(balance.getDefaultBalance().add(balance.getCarryOver()).subtract(balance.getUsedLeave()));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void renderRemaining(Blackhole blackhole) {
+        for (LeaveBalance balance : balances) {
+            blackhole.consume(LeaveDaysSerializer.format(balance.getRemainingLeave()));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void accrueRow() {
+        for (LeaveBalance balance : balances) {
+            BigDecimal cap = toDays(balance.getLeaveType().getDefaultBalance());
+            balance.setRemainingLeave(balance.getRemainingLeave().add(MONTHLY_ACCRUAL).min(cap));
+        }
+    }
+
+    private static BigDecimal toDays(double value) {
+        return BigDecimal.valueOf(value).setScale(LeaveBalance.DAYS_SCALE, RoundingMode.HALF_UP);
+    }
+
+    private static String format(double value) {
+        return value % 1 == 0 ? String.format("%.0f", value) : String.format("%.1f", value);
+    }
+}
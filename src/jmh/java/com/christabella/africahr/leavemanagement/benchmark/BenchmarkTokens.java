@@ -0,0 +1,52 @@
+package com.christabella.africahr.leavemanagement.benchmark;
+
+import com.christabella.africahr.leavemanagement.Config.JwtProperties;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Signed tokens shaped like the ones issued by the auth service, shared by the benchmarks.
+ */
+final class BenchmarkTokens {
+
+    static final String SECRET = "benchmark-secret-benchmark-secret-benchmark-secret-0123456789";
+
+    private BenchmarkTokens() {
+    }
+
+    static JwtProperties jwtProperties() {
+        JwtProperties properties = new JwtProperties();
+        properties.setSecret(SECRET);
+        properties.setHeader("Authorization");
+        properties.setPrefix("Bearer ");
+        return properties;
+    }
+
+    static String issue(String email, List<String> roles) {
+        Instant now = Instant.now();
+        return Jwts.builder()
+                .setSubject(email)
+                .claim("userId", UUID.randomUUID().toString())
+                .claim("roles", roles)
+                .setIssuedAt(Date.from(now))
+                .setExpiration(Date.from(now.plus(Duration.ofHours(2))))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)), SignatureAlgorithm.HS256)
+                .compact();
+    }
+
+    static String forRole(String role) {
+        return switch (role) {
+            case "ADMIN" -> issue("admin@africahr.test", List.of("ADMIN", "MANAGER", "STAFF"));
+            case "MANAGER" -> issue("manager@africahr.test", List.of("MANAGER", "STAFF"));
+            default -> issue("staff@africahr.test", List.of("staff"));
+        };
+    }
+}
@@ -0,0 +1,107 @@
+package com.christabella.africahr.leavemanagement.benchmark;
+
+import com.christabella.africahr.leavemanagement.entity.PublicHoliday;
+import com.christabella.africahr.leavemanagement.repository.PublicHolidayRepository;
+import com.christabella.africahr.leavemanagement.service.BusinessDayCalendarService;
+import com.christabella.africahr.leavemanagement.service.UserDirectory;
+import com.christabella.africahr.leavemanagement.service.WorkingDayCalendar;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Business-day counting over short and year-long ranges with 0 to 50 holidays. The
+ * {@code dayWalk} baseline is the original per-day loop with {@code List.contains};
+ * the others go through {@link WorkingDayCalendar} and {@link BusinessDayCalendarService}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BusinessDayBenchmark {
+
+    private static final int YEAR = 2025;
+
+    @Param({"5", "22", "365"})
+    public int rangeDays;
+
+    @Param({"0", "10", "50"})
+    public int holidayCount;
+
+    private List<LocalDate> holidays;
+    private LocalDate start;
+    private LocalDate end;
+    private WorkingDayCalendar calendar;
+    private BusinessDayCalendarService service;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        holidays = new ArrayList<>();
+        List<PublicHoliday> rows = new ArrayList<>();
+        while (holidays.size() < holidayCount) {
+            LocalDate date = LocalDate.ofYearDay(YEAR, 1 + random.nextInt(365));
+            if (!holidays.contains(date)) {
+                holidays.add(date);
+                rows.add(new PublicHoliday((long) rows.size(), date, "Holiday " + rows.size(), null, "RW"));
+            }
+        }
+
+        start = LocalDate.of(YEAR, 1, 1);
+        end = start.plusDays(rangeDays - 1);
+        calendar = WorkingDayCalendar.build(YEAR, holidays);
+
+        PublicHolidayRepository repository = Mockito.mock(PublicHolidayRepository.class);
+        Mockito.when(repository.findAll()).thenReturn(rows);
+        service = new BusinessDayCalendarService(repository, new UserDirectory(), "RW");
+        service.refresh();
+    }
+
+    @Benchmark
+    public long dayWalk() {
+        long days = 0;
+        LocalDate currentDate = start;
+        while (!currentDate.isAfter(end)) {
+            if (!(currentDate.getDayOfWeek() == DayOfWeek.SATURDAY ||
+                    currentDate.getDayOfWeek() == DayOfWeek.SUNDAY ||
+                    holidays.contains(currentDate))) {
+                days++;
+            }
+            currentDate = currentDate.plusDays(1);
+        }
+        return days;
+    }
+
+    @Benchmark
+    public long calendarLookup() {
+        return calendar.countBetween(start, end);
+    }
+
+    @Benchmark
+    public long serviceCount() {
+        return service.countBusinessDays("RW", start, end);
+    }
+
+    @Benchmark
+    public WorkingDayCalendar calendarBuild() {
+        return WorkingDayCalendar.build(YEAR, holidays);
+    }
+}
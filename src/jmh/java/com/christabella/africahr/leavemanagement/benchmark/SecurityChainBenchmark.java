@@ -0,0 +1,113 @@
+package com.christabella.africahr.leavemanagement.benchmark;
+
+import com.christabella.africahr.leavemanagement.Config.JwtProperties;
+import com.christabella.africahr.leavemanagement.Config.SecurityConfig;
+import com.christabella.africahr.leavemanagement.security.JwtFilter;
+import com.christabella.africahr.leavemanagement.security.JwtTokenProvider;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.mock.web.MockServletContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.support.AnnotationConfigWebApplicationContext;
+import org.springframework.web.servlet.config.annotation.EnableWebMvc;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * A full MockMvc round trip through {@link SecurityConfig} and {@link JwtFilter} to a trivial
+ * controller, so the numbers are dominated by the security chain rather than business logic.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SecurityChainBenchmark {
+
+    @Param({"ADMIN", "MANAGER", "STAFF"})
+    public String role;
+
+    private AnnotationConfigWebApplicationContext context;
+    private MockMvc mockMvc;
+    private String authorization;
+    private String path;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new AnnotationConfigWebApplicationContext();
+        context.setServletContext(new MockServletContext());
+        context.register(ChainConfig.class);
+        context.refresh();
+
+        mockMvc = MockMvcBuilders.webAppContextSetup(context).apply(springSecurity()).build();
+        authorization = "Bearer " + BenchmarkTokens.forRole(role);
+        path = switch (role) {
+            case "ADMIN" -> "/api/v1/admin/ping";
+            case "MANAGER" -> "/api/v1/manager/ping";
+            default -> "/api/v1/staff/ping";
+        };
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public MvcResult securedRequest() throws Exception {
+        MvcResult result = mockMvc.perform(get(path).header("Authorization", authorization)).andReturn();
+        if (result.getResponse().getStatus() != 200) {
+            throw new IllegalStateException("Unexpected status " + result.getResponse().getStatus() + " for " + path);
+        }
+        return result;
+    }
+
+    @Configuration
+    @EnableWebMvc
+    @Import({SecurityConfig.class, JwtFilter.class, JwtTokenProvider.class, PingController.class})
+    static class ChainConfig {
+
+        @Bean
+        JwtProperties jwtProperties() {
+            return BenchmarkTokens.jwtProperties();
+        }
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @RestController
+    static class PingController {
+
+        @GetMapping({"/api/v1/admin/ping", "/api/v1/manager/ping", "/api/v1/staff/ping"})
+        String ping() {
+            return "ok";
+        }
+    }
+}
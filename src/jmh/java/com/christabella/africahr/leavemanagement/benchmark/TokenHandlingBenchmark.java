@@ -0,0 +1,75 @@
+package com.christabella.africahr.leavemanagement.benchmark;
+
+import com.christabella.africahr.leavemanagement.security.CustomUserDetails;
+import com.christabella.africahr.leavemanagement.security.JwtPrincipal;
+import com.christabella.africahr.leavemanagement.security.JwtTokenProvider;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request token handling done by {@code JwtFilter}: signature verification and claim
+ * extraction, role-to-authority mapping and {@link CustomUserDetails} construction.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TokenHandlingBenchmark {
+
+    @Param({"ADMIN", "MANAGER", "STAFF"})
+    public String role;
+
+    private JwtTokenProvider jwtTokenProvider;
+    private String token;
+    private List<String> roles;
+    private JwtPrincipal principal;
+
+    @Setup
+    public void setUp() {
+        jwtTokenProvider = new JwtTokenProvider(BenchmarkTokens.jwtProperties(), new SimpleMeterRegistry());
+        token = BenchmarkTokens.forRole(role);
+        Claims claims = jwtTokenProvider.extractClaims(token);
+        roles = ((List<?>) claims.get("roles")).stream().map(Object::toString).toList();
+        principal = jwtTokenProvider.verify(token);
+    }
+
+    @Benchmark
+    public Claims parseToken() {
+        return jwtTokenProvider.extractClaims(token);
+    }
+
+    @Benchmark
+    public JwtPrincipal verifyToken() {
+        return jwtTokenProvider.verify(token);
+    }
+
+    @Benchmark
+    public List<SimpleGrantedAuthority> mapAuthorities() {
+        return roles.stream()
+                .map(r -> r.trim().toUpperCase())
+                .map(SimpleGrantedAuthority::new)
+                .toList();
+    }
+
+    @Benchmark
+    public CustomUserDetails buildUserDetails() {
+        return new CustomUserDetails(principal.userId(), principal.email(), null, principal.authorities());
+    }
+}
@@ -1,15 +1,136 @@
 package com.christabella.africahr.leavemanagement.Config;
 
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.DefaultConnectionKeepAliveStrategy;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.web.client.RestTemplate;
 
+import java.util.concurrent.ThreadPoolExecutor;
+
 @Configuration
 public class AppConfig {
 
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public PoolingHttpClientConnectionManager authConnectionManager(AuthServiceProperties properties,
+                                                                    MeterRegistry meterRegistry) {
+        AuthServiceProperties.Http http = properties.getHttp();
+
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(http.getMaxConnections())
+                .setMaxConnPerRoute(http.getMaxConnectionsPerRoute())
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.ofMilliseconds(http.getConnectTimeout().toMillis()))
+                        .setSocketTimeout(Timeout.ofMilliseconds(http.getReadTimeout().toMillis()))
+                        .setValidateAfterInactivity(TimeValue.ofMilliseconds(http.getValidateAfterInactivity().toMillis()))
+                        .build())
+                .build();
+
+        new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, "auth-service").bindTo(meterRegistry);
+        return connectionManager;
+    }
+
+    /**
+     * RestTemplate backed by a pooled keep-alive Apache HttpClient. Connect,
+     * read and pool-acquire timeouts come from {@code auth.service.http.*} so a
+     * slow auth service cannot hold request threads indefinitely.
+     */
+    @Bean
+    public RestTemplate restTemplate(PoolingHttpClientConnectionManager authConnectionManager,
+                                     AuthServiceProperties properties) {
+        AuthServiceProperties.Http http = properties.getHttp();
+        TimeValue maxKeepAlive = TimeValue.ofMilliseconds(http.getKeepAlive().toMillis());
+
+        CloseableHttpClient httpClient = HttpClients.custom()
+                .setConnectionManager(authConnectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.ofMilliseconds(http.getPoolAcquireTimeout().toMillis()))
+                        .setResponseTimeout(Timeout.ofMilliseconds(http.getReadTimeout().toMillis()))
+                        .build())
+                .setKeepAliveStrategy((response, context) -> DefaultConnectionKeepAliveStrategy.INSTANCE
+                        .getKeepAliveDuration(response, context)
+                        .min(maxKeepAlive))
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.ofMilliseconds(http.getIdleEvictionTimeout().toMillis()))
+                .build();
+
+        return new RestTemplate(new HttpComponentsClientHttpRequestFactory(httpClient));
+    }
+
+    /**
+     * Bounded executor for concurrent auth-service lookups. Uses virtual threads
+     * with a concurrency limit on Java 21+, and a fixed platform-thread pool
+     * (caller-runs when saturated) otherwise.
+     */
+    @Bean
+    public AsyncTaskExecutor authLookupExecutor(AuthServiceProperties properties, MeterRegistry meterRegistry) {
+        AuthServiceProperties.Lookup lookup = properties.getLookup();
+
+        if (Runtime.version().feature() >= 21) {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("auth-lookup-");
+            executor.setVirtualThreads(true);
+            executor.setConcurrencyLimit(lookup.getMaxConcurrency());
+            return executor;
+        }
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("auth-lookup-");
+        executor.setCorePoolSize(lookup.getMaxConcurrency());
+        executor.setMaxPoolSize(lookup.getMaxConcurrency());
+        executor.setQueueCapacity(lookup.getQueueCapacity());
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.initialize();
+        ExecutorServiceMetrics.monitor(meterRegistry, executor.getThreadPoolExecutor(), "authLookup");
+        return executor;
+    }
+
+    /**
+     * Runs admin-triggered background jobs. Small on purpose: jobs fan their work out
+     * to {@link #balanceJobPartitionExecutor} and only coordinate on this pool.
+     */
+    @Bean
+    public AsyncTaskExecutor backgroundJobExecutor(MeterRegistry meterRegistry) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("background-job-");
+        executor.setCorePoolSize(2);
+        executor.setMaxPoolSize(2);
+        executor.setQueueCapacity(16);
+        executor.initialize();
+        ExecutorServiceMetrics.monitor(meterRegistry, executor.getThreadPoolExecutor(), "backgroundJob");
+        return executor;
+    }
+
+    /**
+     * Workers for the parallel partitions of bulk balance jobs. Each worker holds one
+     * database connection while it runs, so {@code leave.jobs.parallelism} should stay
+     * well below the connection pool size.
+     */
+    @Bean
+    public AsyncTaskExecutor balanceJobPartitionExecutor(@Value("${leave.jobs.parallelism:4}") int parallelism,
+                                                         MeterRegistry meterRegistry) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("balance-job-");
+        executor.setCorePoolSize(parallelism);
+        executor.setMaxPoolSize(parallelism);
+        executor.setQueueCapacity(Integer.MAX_VALUE);
+        executor.initialize();
+        ExecutorServiceMetrics.monitor(meterRegistry, executor.getThreadPoolExecutor(), "balanceJobPartition");
+        return executor;
     }
-}
\ No newline at end of file
+}
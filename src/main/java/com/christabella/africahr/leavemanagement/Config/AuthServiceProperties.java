@@ -0,0 +1,81 @@
+package com.christabella.africahr.leavemanagement.Config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "auth.service")
+@Data
+public class AuthServiceProperties {
+    private String baseUrl;
+    private int batchSize = 200;
+    private Cache cache = new Cache();
+    private Lookup lookup = new Lookup();
+    private Http http = new Http();
+    private CircuitBreaker circuitBreaker = new CircuitBreaker();
+    private Bulkhead bulkhead = new Bulkhead();
+    private Directory directory = new Directory();
+    private Roster roster = new Roster();
+
+    @Data
+    public static class Cache {
+        private long maxSize = 10_000;
+        private Duration ttl = Duration.ofMinutes(10);
+        private Duration negativeTtl = Duration.ofSeconds(30);
+        private long staleMaxSize = 50_000;
+        private Duration staleTtl = Duration.ofHours(24);
+    }
+
+    @Data
+    public static class Lookup {
+        private int maxConcurrency = 16;
+        private int queueCapacity = 500;
+        private Duration timeout = Duration.ofSeconds(5);
+        private Duration fallbackTimeout = Duration.ofSeconds(5);
+    }
+
+    @Data
+    public static class Http {
+        private int maxConnections = 100;
+        private int maxConnectionsPerRoute = 50;
+        private Duration connectTimeout = Duration.ofSeconds(2);
+        private Duration readTimeout = Duration.ofSeconds(5);
+        private Duration poolAcquireTimeout = Duration.ofSeconds(1);
+        private Duration keepAlive = Duration.ofSeconds(30);
+        private Duration idleEvictionTimeout = Duration.ofSeconds(60);
+        private Duration validateAfterInactivity = Duration.ofSeconds(2);
+    }
+
+    @Data
+    public static class CircuitBreaker {
+        private int slidingWindowSize = 50;
+        private int minimumNumberOfCalls = 20;
+        private float failureRateThreshold = 50;
+        private Duration slowCallDurationThreshold = Duration.ofSeconds(3);
+        private float slowCallRateThreshold = 80;
+        private Duration waitDurationInOpenState = Duration.ofSeconds(30);
+        private int permittedCallsInHalfOpenState = 5;
+    }
+
+    @Data
+    public static class Bulkhead {
+        private int maxConcurrentCalls = 32;
+        private Duration maxWait = Duration.ofMillis(100);
+    }
+
+    @Data
+    public static class Directory {
+        private boolean enabled = true;
+        private int pageSize = 1000;
+        private Duration refreshInterval = Duration.ofMinutes(5);
+    }
+
+    @Data
+    public static class Roster {
+        private Duration refreshInterval = Duration.ofMinutes(10);
+        private double refreshAhead = 0.75;
+    }
+}
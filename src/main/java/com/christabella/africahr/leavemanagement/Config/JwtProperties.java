@@ -4,6 +4,8 @@ import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 
+import java.time.Duration;
+
 @Configuration
 @ConfigurationProperties(prefix = "jwt")
 @Data
@@ -11,4 +13,11 @@ public class JwtProperties {
     private String secret;
     private String header;
     private String prefix;
+    private Cache cache = new Cache();
+
+    @Data
+    public static class Cache {
+        private long maxSize = 10_000;
+        private Duration maxTtl = Duration.ofMinutes(15);
+    }
 }
@@ -0,0 +1,42 @@
+package com.christabella.africahr.leavemanagement.Config;
+
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Gives every balance that predates the ledger an OPENING_BALANCE entry holding its current
+ * totals, so replaying the ledger reproduces every stored balance. Runs after the numeric
+ * migration and only inserts for balances that have no ledger entries yet.
+ */
+@Configuration
+@Order(1)
+@RequiredArgsConstructor
+public class LeaveBalanceLedgerBackfill implements CommandLineRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(LeaveBalanceLedgerBackfill.class);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void run(String... args) {
+        int opened = jdbcTemplate.update("""
+                INSERT INTO leave_balance_ledger (balance_id, user_id, leave_type_id, year, movement_type,
+                        default_delta, carry_over_delta, used_delta, remaining_delta, remaining_after, note, created_at)
+                SELECT b.id, b.user_id, b.leave_type_id, b.year, 'OPENING_BALANCE',
+                        ROUND(CAST(b.default_balance AS NUMERIC), 2), ROUND(CAST(b.carry_over AS NUMERIC), 2),
+                        ROUND(CAST(b.used_leave AS NUMERIC), 2), COALESCE(b.remaining_days, 0),
+                        COALESCE(b.remaining_days, 0), 'Backfilled from existing balance', now()
+                FROM leave_balance b
+                WHERE b.leave_type_id IS NOT NULL
+                  AND NOT EXISTS (SELECT 1 FROM leave_balance_ledger l WHERE l.balance_id = b.id)
+                """);
+        if (opened > 0) {
+            log.info("Backfilled opening ledger entries for {} leave balances", opened);
+        }
+    }
+}
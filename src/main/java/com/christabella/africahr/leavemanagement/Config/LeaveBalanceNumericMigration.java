@@ -0,0 +1,75 @@
+package com.christabella.africahr.leavemanagement.Config;
+
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+/**
+ * One-off migration of {@code leave_balance.remaining_leave} (text) into the fixed-point
+ * {@code remaining_days} column. Rows whose legacy text is not a number are recomputed
+ * from default + carry-over - used. Also converts the default, used and carry-over
+ * columns from {@code double precision} to {@code numeric}, which schema update does not
+ * do for existing columns. Safe to run on every start: only rows without a numeric value
+ * and columns still stored as doubles are touched.
+ */
+@Configuration
+@Order(0)
+@RequiredArgsConstructor
+public class LeaveBalanceNumericMigration implements CommandLineRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(LeaveBalanceNumericMigration.class);
+
+    private static final List<String> DAY_COLUMNS = List.of("default_balance", "used_leave", "carry_over");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void run(String... args) {
+        convertDayColumns();
+
+        Integer legacyColumns = jdbcTemplate.queryForObject("""
+                SELECT COUNT(*) FROM information_schema.columns
+                WHERE table_name = 'leave_balance' AND column_name = 'remaining_leave'
+                """, Integer.class);
+        if (legacyColumns == null || legacyColumns == 0) {
+            return;
+        }
+
+        int copied = jdbcTemplate.update("""
+                UPDATE leave_balance
+                SET remaining_days = ROUND(CAST(TRIM(remaining_leave) AS NUMERIC), 2)
+                WHERE remaining_days IS NULL
+                  AND TRIM(remaining_leave) ~ '^-?[0-9]+(\\.[0-9]+)?$'
+                """);
+        int recomputed = jdbcTemplate.update("""
+                UPDATE leave_balance
+                SET remaining_days = ROUND(CAST(default_balance + carry_over - used_leave AS NUMERIC), 2)
+                WHERE remaining_days IS NULL
+                """);
+        jdbcTemplate.execute("ALTER TABLE leave_balance ALTER COLUMN remaining_leave DROP NOT NULL");
+
+        if (copied > 0 || recomputed > 0) {
+            log.info("Migrated leave balances to remaining_days: {} copied, {} recomputed", copied, recomputed);
+        }
+    }
+
+    private void convertDayColumns() {
+        List<String> doubleColumns = jdbcTemplate.queryForList("""
+                SELECT column_name FROM information_schema.columns
+                WHERE table_name = 'leave_balance' AND column_name = ANY (?) AND data_type = 'double precision'
+                """, String.class, (Object) DAY_COLUMNS.toArray(String[]::new));
+        for (String column : doubleColumns) {
+            jdbcTemplate.execute("ALTER TABLE leave_balance ALTER COLUMN " + column
+                    + " TYPE NUMERIC(7, 2) USING ROUND(CAST(" + column + " AS NUMERIC), 2)");
+        }
+        if (!doubleColumns.isEmpty()) {
+            log.info("Converted leave balance columns {} to numeric", doubleColumns);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.christabella.africahr.leavemanagement.Config;
+
+import com.christabella.africahr.leavemanagement.entity.LeaveBalance;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Moves {@code leave_balance_seq} past the ids handed out while {@code leave_balance.id}
+ * was an identity column. Hibernate and the batch writer use pooled blocks ending at the
+ * sequence value, so the sequence is kept at least one block above the highest id. Never
+ * moves the sequence backwards, so it is safe to run on every start and on every node.
+ */
+@Configuration
+@Order(0)
+@RequiredArgsConstructor
+public class LeaveBalanceSequenceMigration implements CommandLineRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(LeaveBalanceSequenceMigration.class);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void run(String... args) {
+        jdbcTemplate.execute("CREATE SEQUENCE IF NOT EXISTS leave_balance_seq START WITH 1 INCREMENT BY "
+                + LeaveBalance.ID_ALLOCATION_SIZE);
+
+        Long value = jdbcTemplate.queryForObject("""
+                SELECT setval('leave_balance_seq', GREATEST(
+                        (SELECT COALESCE(MAX(id), 0) FROM leave_balance) + ?,
+                        (SELECT last_value FROM leave_balance_seq)))
+                """, Long.class, LeaveBalance.ID_ALLOCATION_SIZE);
+        log.info("leave_balance_seq positioned at {}", value);
+    }
+}
@@ -0,0 +1,68 @@
+package com.christabella.africahr.leavemanagement.Config;
+
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Creates the unique index on {@code leave_balance (user_id, leave_type_id, year)}. Races
+ * between the initialization job and first-visit initialization used to leave duplicate
+ * rows; those are removed first, keeping the oldest row of each set, which is the one
+ * approvals deduct from, together with the ledger entries of the removed rows. Does
+ * nothing once the index exists, so it is safe to run on every start and on every node.
+ */
+@Configuration
+@Order(0)
+@RequiredArgsConstructor
+public class LeaveBalanceUniquenessMigration implements CommandLineRunner {
+
+    static final String INDEX_NAME = "uk_leave_balance_user_type_year";
+
+    private static final Logger log = LoggerFactory.getLogger(LeaveBalanceUniquenessMigration.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Override
+    public void run(String... args) {
+        Integer existing = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM pg_indexes WHERE tablename = 'leave_balance' AND indexname = ?",
+                Integer.class, INDEX_NAME);
+        if (existing != null && existing > 0) {
+            return;
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.execute("LOCK TABLE leave_balance IN SHARE ROW EXCLUSIVE MODE");
+            Integer removed = jdbcTemplate.queryForObject("""
+                    WITH ranked AS (
+                        SELECT id, ROW_NUMBER() OVER (PARTITION BY user_id, leave_type_id, year ORDER BY id) AS position
+                        FROM leave_balance
+                    ), removed AS (
+                        DELETE FROM leave_balance b
+                        USING ranked r
+                        WHERE b.id = r.id AND r.position > 1
+                        RETURNING b.id
+                    ), ledger AS (
+                        DELETE FROM leave_balance_ledger l
+                        USING removed
+                        WHERE l.balance_id = removed.id
+                    )
+                    SELECT COUNT(*) FROM removed
+                    """, Integer.class);
+            jdbcTemplate.execute("CREATE UNIQUE INDEX IF NOT EXISTS " + INDEX_NAME
+                    + " ON leave_balance (user_id, leave_type_id, year)");
+            jdbcTemplate.execute("DROP INDEX IF EXISTS idx_leave_balance_user_type_year");
+
+            if (removed != null && removed > 0) {
+                log.warn("Removed {} duplicate leave balances before creating {}; run the balance "
+                        + "reconciliation to re-derive used days of the remaining rows", removed, INDEX_NAME);
+            }
+        });
+    }
+}
@@ -2,8 +2,10 @@ package com.christabella.africahr.leavemanagement.Config;
 
 import com.christabella.africahr.leavemanagement.entity.PublicHoliday;
 import com.christabella.africahr.leavemanagement.repository.PublicHolidayRepository;
+import com.christabella.africahr.leavemanagement.service.PublicHolidaysChangedEvent;
 import lombok.RequiredArgsConstructor;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Configuration;
 
 import java.time.LocalDate;
@@ -14,6 +16,9 @@ import java.util.List;
 public class PublicHolidaySeeder implements CommandLineRunner {
 
     private final PublicHolidayRepository publicHolidayRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private static final String COUNTRY = "RW";
 
     @Override
     public void run(String... args) {
@@ -29,10 +34,14 @@ public class PublicHolidaySeeder implements CommandLineRunner {
                 new PublicHoliday(null, LocalDate.of(2025, 12, 26), "Boxing Day")
         );
 
-        holidays.forEach(holiday -> {
-            if (!publicHolidayRepository.existsByDate(holiday.getDate())) {
-                publicHolidayRepository.save(holiday);
-            }
-        });
+        List<LocalDate> added = holidays.stream()
+                .peek(holiday -> holiday.setCountry(COUNTRY))
+                .filter(holiday -> !publicHolidayRepository.existsByDateAndCountry(holiday.getDate(), COUNTRY))
+                .map(holiday -> publicHolidayRepository.save(holiday).getDate())
+                .toList();
+
+        if (!added.isEmpty()) {
+            eventPublisher.publishEvent(PublicHolidaysChangedEvent.of(added));
+        }
     }
 }
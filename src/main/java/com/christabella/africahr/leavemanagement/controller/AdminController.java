@@ -12,11 +12,15 @@ import org.springframework.core.io.Resource;
 import org.springframework.http.*;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import com.christabella.africahr.leavemanagement.exception.BadRequestException;
+import com.christabella.africahr.leavemanagement.exception.ResourceNotFoundException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.ByteArrayInputStream;
+import java.net.URI;
+import java.time.LocalDate;
 import java.util.List;
 
 
@@ -30,6 +34,14 @@ public class AdminController {
         private final ReportingService reportingService;
         private final LeaveBalanceService leaveBalanceService;
         private final EmailService emailService;
+        private final UserProfileCache userProfileCache;
+        private final UserDirectorySyncService userDirectorySyncService;
+        private final PublicHolidayService publicHolidayService;
+        private final LeaveBalanceQueryService leaveBalanceQueryService;
+        private final LeaveBalanceInitializationJob leaveBalanceInitializationJob;
+        private final LeaveBalanceReconciliationJob leaveBalanceReconciliationJob;
+        private final BalanceJobRecovery balanceJobRecovery;
+        private final JobRegistry jobRegistry;
         private static final Logger log = LoggerFactory.getLogger(AdminController.class);
 
         @PreAuthorize("hasAuthority('ADMIN')")
@@ -136,27 +148,77 @@ public class AdminController {
 
         @PreAuthorize("hasAnyAuthority('MANAGER', 'ADMIN')")
         @GetMapping("/leave/balance/{userId}")
-        public ResponseEntity<ApiResponse<List<LeaveBalanceDto>>> viewBalanceForUser(@PathVariable String userId) {
-                List<LeaveBalanceDto> balances = leaveBalanceService.getBalancesByUserId(userId);
-                return ResponseEntity.ok(ApiResponse.<List<LeaveBalanceDto>>builder()
-                                .success(true)
-                                .message("User leave balance")
-                                .data(balances)
-                                .build());
+        public ResponseEntity<ApiResponse<List<LeaveBalanceDto>>> viewBalanceForUser(
+                        @PathVariable String userId,
+                        WebRequest webRequest) {
+                LeaveBalanceQueryService.BalanceView view = leaveBalanceQueryService.getBalances(userId);
+                if (webRequest.checkNotModified(view.etag())) {
+                        return null;
+                }
+                return ResponseEntity.ok()
+                                .eTag(view.etag())
+                                .cacheControl(CacheControl.noCache().cachePrivate())
+                                .body(ApiResponse.<List<LeaveBalanceDto>>builder()
+                                                .success(true)
+                                                .message("User leave balance")
+                                                .data(view.balances())
+                                                .build());
         }
 
         @PreAuthorize("hasAuthority('ADMIN')")
         @PostMapping("/leave/init-balance-all")
-        public ResponseEntity<ApiResponse> initializeAllLeaveBalances() {
-                int count = leaveBalanceService.initializeAllLeaveBalances();
+        public ResponseEntity<ApiResponse<JobStatusDto>> initializeAllLeaveBalances() {
+                JobRegistry.TrackedJob job = leaveBalanceInitializationJob.start(LocalDate.now().getYear());
 
-                return ResponseEntity.ok(
-                                ApiResponse.builder()
+                return ResponseEntity.accepted()
+                                .location(URI.create("/api/v1/admin/jobs/" + job.getId()))
+                                .body(ApiResponse.<JobStatusDto>builder()
+                                                .success(true)
+                                                .message("Leave balance initialization started")
+                                                .data(job.toDto())
+                                                .build());
+        }
+
+        @PreAuthorize("hasAuthority('ADMIN')")
+        @PostMapping("/leave/reconcile")
+        public ResponseEntity<ApiResponse<JobStatusDto>> reconcileLeaveBalances(
+                        @RequestParam(required = false) Integer year,
+                        @RequestParam(defaultValue = "false") boolean apply) {
+                int targetYear = year != null ? year : LocalDate.now().getYear();
+                JobRegistry.TrackedJob job = leaveBalanceReconciliationJob.start(targetYear, apply);
+
+                return ResponseEntity.accepted()
+                                .location(URI.create("/api/v1/admin/jobs/" + job.getId()))
+                                .body(ApiResponse.<JobStatusDto>builder()
+                                                .success(true)
+                                                .message("Leave balance reconciliation started")
+                                                .data(job.toDto())
+                                                .build());
+        }
+
+        @PreAuthorize("hasAuthority('ADMIN')")
+        @PostMapping("/jobs/balance-runs/resume")
+        public ResponseEntity<ApiResponse<JobStatusDto>> resumeBalanceRuns() {
+                JobRegistry.TrackedJob job = balanceJobRecovery.start();
+
+                return ResponseEntity.accepted()
+                                .location(URI.create("/api/v1/admin/jobs/" + job.getId()))
+                                .body(ApiResponse.<JobStatusDto>builder()
                                                 .success(true)
-                                                .message("Leave balances initialized for " + count + " users")
+                                                .message("Resuming unfinished balance runs")
+                                                .data(job.toDto())
                                                 .build());
         }
 
+        @PreAuthorize("hasAuthority('ADMIN')")
+        @GetMapping("/jobs/{jobId}")
+        public ResponseEntity<ApiResponse<JobStatusDto>> getJob(@PathVariable String jobId) {
+                JobStatusDto job = jobRegistry.find(jobId)
+                                .map(JobRegistry.TrackedJob::toDto)
+                                .orElseThrow(() -> new ResourceNotFoundException("Job not found: " + jobId));
+                return ResponseEntity.ok(ApiResponse.success("Job status", job));
+        }
+
         @PreAuthorize("hasAuthority('ADMIN')")
         @PostMapping("/adjust-used-days")
         public ResponseEntity<ApiResponse<LeaveBalance>> adjustUsedDays(@RequestBody UsedDaysAdjustmentRequest request) {
@@ -190,6 +252,48 @@ public class AdminController {
             }
         }
 
+        @PreAuthorize("hasAuthority('ADMIN')")
+        @DeleteMapping("/cache/users/{userId}")
+        public ResponseEntity<ApiResponse<Void>> evictUserProfile(@PathVariable String userId) {
+                userProfileCache.invalidate(userId);
+                // Refresh rather than evict the directory entry: dropping it would hide the user
+                // from role lookups until the next full snapshot
+                userDirectorySyncService.incrementalSync();
+                return ResponseEntity.ok(ApiResponse.success("Cached profile evicted for user", null));
+        }
+
+        @PreAuthorize("hasAuthority('ADMIN')")
+        @DeleteMapping("/cache/users")
+        public ResponseEntity<ApiResponse<Void>> evictAllUserProfiles() {
+                userProfileCache.invalidateAll();
+                return ResponseEntity.ok(ApiResponse.success("User profile cache cleared", null));
+        }
+
+        @PreAuthorize("hasAuthority('ADMIN')")
+        @GetMapping("/leave/balance/{userId}/ledger")
+        public ResponseEntity<ApiResponse<List<BalanceAuditDto>>> balanceLedger(
+                        @PathVariable String userId,
+                        @RequestParam(required = false) Integer year) {
+                int auditYear = year != null ? year : LocalDate.now().getYear();
+                return ResponseEntity.ok(ApiResponse.success("Leave balance ledger",
+                                leaveBalanceService.auditBalances(userId, auditYear)));
+        }
+
+        @PreAuthorize("hasAuthority('ADMIN')")
+        @PostMapping("/holidays")
+        public ResponseEntity<ApiResponse<PublicHolidayDto>> addHoliday(@RequestBody PublicHolidayDto dto) {
+                PublicHolidayDto created = publicHolidayService.addHoliday(dto);
+                return ResponseEntity.status(HttpStatus.CREATED)
+                                .body(ApiResponse.success("Public holiday added", created));
+        }
+
+        @PreAuthorize("hasAuthority('ADMIN')")
+        @DeleteMapping("/holidays/{holidayId}")
+        public ResponseEntity<ApiResponse<Void>> deleteHoliday(@PathVariable Long holidayId) {
+                publicHolidayService.deleteHoliday(holidayId);
+                return ResponseEntity.ok(ApiResponse.success("Public holiday deleted", null));
+        }
+
         @GetMapping("/test-email")
         public ResponseEntity<String> testEmailFunctionality(@RequestParam String email) {
             try {
@@ -3,19 +3,17 @@ package com.christabella.africahr.leavemanagement.controller;
 import com.christabella.africahr.leavemanagement.dto.*;
 import com.christabella.africahr.leavemanagement.entity.LeaveRequest;
 import com.christabella.africahr.leavemanagement.enums.LeaveStatus;
-import com.christabella.africahr.leavemanagement.exception.BadRequestException;
-import com.christabella.africahr.leavemanagement.security.CustomUserDetails;
-import com.christabella.africahr.leavemanagement.service.LeaveBalanceService;
+import com.christabella.africahr.leavemanagement.security.AuthenticatedUserResolver;
+import com.christabella.africahr.leavemanagement.service.LeaveBalanceQueryService;
 import com.christabella.africahr.leavemanagement.service.LeaveService;
 import com.christabella.africahr.leavemanagement.service.LeaveTypeService;
 import com.christabella.africahr.leavemanagement.service.PublicHolidayService;
-import com.christabella.africahr.leavemanagement.service.UserServiceClient;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.*;
 import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
 import java.util.Arrays;
 import java.util.List;
@@ -27,10 +25,10 @@ import java.util.stream.Collectors;
 public class LeaveController {
 
     private final LeaveService leaveService;
-    private final LeaveBalanceService leaveBalanceService;
+    private final LeaveBalanceQueryService leaveBalanceQueryService;
     private final LeaveTypeService leaveTypeService;
     private final PublicHolidayService publicHolidayService;
-    private final UserServiceClient userServiceClient; 
+    private final AuthenticatedUserResolver authenticatedUserResolver;
 
     
 
@@ -76,23 +74,21 @@ public class LeaveController {
 
     @PreAuthorize("hasAnyAuthority('STAFF', 'MANAGER', 'ADMIN')")
     @GetMapping("/balance") 
-    public ResponseEntity<ApiResponse<List<LeaveBalanceDto>>> viewMyBalance(Authentication authentication) {
-        CustomUserDetails userDetails = (CustomUserDetails) authentication.getPrincipal();
-        String userId = userDetails.getId();
-    
-        if (userId.contains("@")) {
-            userId = userServiceClient.getUserIdByEmail(userId);
-            if (userId == null || userId.contains("@")) {
-                throw new BadRequestException("Unable to resolve user UUID");
-            }
+    public ResponseEntity<ApiResponse<List<LeaveBalanceDto>>> viewMyBalance(WebRequest webRequest) {
+        String userId = authenticatedUserResolver.resolve().userId();
+
+        LeaveBalanceQueryService.BalanceView view = leaveBalanceQueryService.getBalances(userId);
+        if (webRequest.checkNotModified(view.etag())) {
+            return null;
         }
-        
-        List<LeaveBalanceDto> balances = leaveBalanceService.getBalancesByUserId(userId);
-        return ResponseEntity.ok(ApiResponse.<List<LeaveBalanceDto>>builder()
-                .success(true)
-                .message("My leave balance")
-                .data(balances)
-                .build());
+        return ResponseEntity.ok()
+                .eTag(view.etag())
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(ApiResponse.<List<LeaveBalanceDto>>builder()
+                        .success(true)
+                        .message("My leave balance")
+                        .data(view.balances())
+                        .build());
     }
 
     @PreAuthorize("hasAnyAuthority('ADMIN', 'MANAGER', 'STAFF')")
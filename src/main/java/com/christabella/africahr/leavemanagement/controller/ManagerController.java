@@ -2,15 +2,19 @@ package com.christabella.africahr.leavemanagement.controller;
 
 import com.christabella.africahr.leavemanagement.dto.*;
 import com.christabella.africahr.leavemanagement.entity.LeaveRequest;
+import com.christabella.africahr.leavemanagement.exception.BadRequestException;
 import com.christabella.africahr.leavemanagement.service.AdminService;
-import com.christabella.africahr.leavemanagement.service.LeaveBalanceService;
+import com.christabella.africahr.leavemanagement.service.LeaveBalanceQueryService;
 import com.christabella.africahr.leavemanagement.service.ReportingService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/v1/manager")
@@ -18,8 +22,10 @@ import java.util.List;
 @PreAuthorize("hasAnyAuthority('MANAGER', 'ADMIN')")
 public class ManagerController {
 
+    private static final int MAX_TEAM_SIZE = 500;
+
     private final AdminService adminService;
-    private final LeaveBalanceService leaveBalanceService;
+    private final LeaveBalanceQueryService leaveBalanceQueryService;
     private final ReportingService reportingService;
 
 
@@ -61,11 +67,32 @@ public class ManagerController {
 
 
     @GetMapping("/leave/balance/{userId}")
-    public ResponseEntity<ApiResponse<List<LeaveBalanceDto>>> viewBalanceForUser(@PathVariable String userId) {
-        List<LeaveBalanceDto> balances = leaveBalanceService.getBalancesByUserId(userId);
-        return ResponseEntity.ok(ApiResponse.<List<LeaveBalanceDto>>builder()
+    public ResponseEntity<ApiResponse<List<LeaveBalanceDto>>> viewBalanceForUser(@PathVariable String userId,
+                                                                                  WebRequest webRequest) {
+        LeaveBalanceQueryService.BalanceView view = leaveBalanceQueryService.getBalances(userId);
+        if (webRequest.checkNotModified(view.etag())) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .eTag(view.etag())
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(ApiResponse.<List<LeaveBalanceDto>>builder()
+                        .success(true)
+                        .message("User leave balance")
+                        .data(view.balances())
+                        .build());
+    }
+
+    @GetMapping("/leave/balances")
+    public ResponseEntity<ApiResponse<Map<String, List<LeaveBalanceDto>>>> viewTeamBalances(
+            @RequestParam List<String> userIds) {
+        if (userIds.size() > MAX_TEAM_SIZE) {
+            throw new BadRequestException("At most " + MAX_TEAM_SIZE + " users can be requested at once");
+        }
+        Map<String, List<LeaveBalanceDto>> balances = leaveBalanceQueryService.getTeamBalances(userIds);
+        return ResponseEntity.ok(ApiResponse.<Map<String, List<LeaveBalanceDto>>>builder()
                 .success(true)
-                .message("User leave balance")
+                .message("Team leave balances")
                 .data(balances)
                 .build());
     }
@@ -0,0 +1,25 @@
+package com.christabella.africahr.leavemanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BalanceAuditDto {
+    private String leaveType;
+    private Long leaveTypeId;
+    private int year;
+    private BigDecimal storedUsed;
+    private BigDecimal replayedUsed;
+    private BigDecimal storedRemaining;
+    private BigDecimal replayedRemaining;
+    private boolean consistent;
+    private List<LedgerEntryDto> entries;
+}
@@ -0,0 +1,23 @@
+package com.christabella.africahr.leavemanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BalanceDriftDto {
+    /** {@code null} when approved requests exist for a leave type the user has no balance for. */
+    private Long balanceId;
+    private String userId;
+    private Long leaveTypeId;
+    private int year;
+    private BigDecimal storedUsed;
+    private long expectedUsed;
+    private boolean manuallyAdjusted;
+}
@@ -0,0 +1,26 @@
+package com.christabella.africahr.leavemanagement.dto;
+
+import com.christabella.africahr.leavemanagement.enums.JobStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobStatusDto {
+    private String id;
+    private String type;
+    private JobStatus status;
+    private long total;
+    private long processed;
+    private long failed;
+    private String message;
+    private Object result;
+    private Instant startedAt;
+    private Instant finishedAt;
+}
@@ -14,6 +14,8 @@ public class LeaveBalanceDto {
     private Long leaveTypeId;
     private double defaultBalance;
     private double usedLeave;
+    /** Business days of this year's approved requests, as counted from the requests themselves. */
+    private long approvedDays;
     private String remainingLeave;
     private double carryOver;
     private int year;
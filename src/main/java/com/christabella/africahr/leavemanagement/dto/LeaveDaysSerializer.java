@@ -0,0 +1,31 @@
+package com.christabella.africahr.leavemanagement.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Renders a stored leave-day amount the way the API has always shown it: whole days
+ * without decimals ("20"), anything else rounded to one decimal ("11.7").
+ */
+public class LeaveDaysSerializer extends JsonSerializer<BigDecimal> {
+
+    public static String format(BigDecimal days) {
+        if (days == null) {
+            return null;
+        }
+        BigDecimal rounded = days.setScale(1, RoundingMode.HALF_UP);
+        return rounded.signum() == 0 || rounded.stripTrailingZeros().scale() <= 0
+                ? rounded.setScale(0, RoundingMode.UNNECESSARY).toPlainString()
+                : rounded.toPlainString();
+    }
+
+    @Override
+    public void serialize(BigDecimal value, JsonGenerator gen, SerializerProvider serializers) throws IOException {
+        gen.writeString(format(value));
+    }
+}
@@ -0,0 +1,26 @@
+package com.christabella.africahr.leavemanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LedgerEntryDto {
+    private Long id;
+    private String movementType;
+    private BigDecimal defaultDelta;
+    private BigDecimal carryOverDelta;
+    private BigDecimal usedDelta;
+    private BigDecimal remainingDelta;
+    private BigDecimal remainingAfter;
+    private Long leaveRequestId;
+    private String note;
+    private Instant createdAt;
+}
@@ -8,7 +8,10 @@ import java.time.LocalDate;
 @Builder
 @Data
 public class PublicHolidayDto {
+    private Long id;
     private LocalDate date;
     private String name;
+    private String description;
+    private String country;
 }
 
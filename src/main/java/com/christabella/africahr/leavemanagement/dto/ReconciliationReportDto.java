@@ -0,0 +1,23 @@
+package com.christabella.africahr.leavemanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReconciliationReportDto {
+    private int year;
+    private boolean apply;
+    private long drifted;
+    private long missingBalances;
+    private long manuallyAdjusted;
+    private long applied;
+    /** The first drifted balances found, up to {@code leave.reconciliation.report-limit}. */
+    private List<BalanceDriftDto> entries;
+}
@@ -0,0 +1,24 @@
+package com.christabella.africahr.leavemanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserProfileDto {
+    private String id;
+    private String fullName;
+    private String email;
+    private String department;
+    private String country;
+    private String role;
+    private String avatar;
+    private Instant updatedAt;
+    private boolean deleted;
+}
@@ -0,0 +1,52 @@
+package com.christabella.africahr.leavemanagement.entity;
+
+import com.christabella.africahr.leavemanagement.enums.JobStatus;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * Progress of one run of a batch job for one period, e.g. the accrual for "2025-03".
+ * The (jobName, periodKey) pair is unique, which is what makes runs idempotent and lets a
+ * single node claim a run while others skip it.
+ */
+@Entity
+@Table(name = "job_checkpoint", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_job_checkpoint_job_period", columnNames = {"job_name", "period_key"})
+})
+@Getter @Setter
+@NoArgsConstructor @AllArgsConstructor
+@Builder
+public class JobCheckpoint {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 64)
+    private String jobName;
+
+    @Column(nullable = false, length = 32)
+    private String periodKey;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private JobStatus status;
+
+    @Column(nullable = false)
+    private long lastProcessedId;
+
+    @Column(nullable = false)
+    private long processedCount;
+
+    private String owner;
+
+    private String message;
+
+    private Instant startedAt;
+
+    private Instant updatedAt;
+
+    private Instant completedAt;
+}
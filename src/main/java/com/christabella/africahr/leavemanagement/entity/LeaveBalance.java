@@ -1,16 +1,37 @@
 package com.christabella.africahr.leavemanagement.entity;
 
+import com.christabella.africahr.leavemanagement.dto.LeaveDaysSerializer;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import jakarta.persistence.*;
 import lombok.*;
 
+import java.math.BigDecimal;
+
+/**
+ * A user's balance of one leave type for one year. There is at most one per
+ * (user, leave type, year); the unique index is created by
+ * {@link com.christabella.africahr.leavemanagement.Config.LeaveBalanceUniquenessMigration}.
+ */
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_leave_balance_user_year", columnList = "user_id, year"),
+        @Index(name = "idx_leave_balance_year_type", columnList = "year, leave_type_id")
+})
 @Getter @Setter
 @NoArgsConstructor @AllArgsConstructor
 @Builder
 public class LeaveBalance {
 
+    /** Balances are stored in hundredths of a day. */
+    public static final int DAYS_SCALE = 2;
+
+    /** Ids are taken from {@code leave_balance_seq} in blocks of this size, so inserts can be batched. */
+    public static final int ID_ALLOCATION_SIZE = 50;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "leave_balance_seq")
+    @SequenceGenerator(name = "leave_balance_seq", sequenceName = "leave_balance_seq",
+            allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
     private String userId;
@@ -20,13 +41,21 @@ public class LeaveBalance {
     @ManyToOne
     private LeaveType leaveType;
 
-    private double defaultBalance;
+    @Column(precision = 7, scale = DAYS_SCALE)
+    @Builder.Default
+    private BigDecimal defaultBalance = BigDecimal.ZERO;
 
-    private double usedLeave;
+    @Column(precision = 7, scale = DAYS_SCALE)
+    @Builder.Default
+    private BigDecimal usedLeave = BigDecimal.ZERO;
     
-    private String remainingLeave;
+    @Column(name = "remaining_days", precision = 7, scale = DAYS_SCALE)
+    @JsonSerialize(using = LeaveDaysSerializer.class)
+    private BigDecimal remainingLeave;
 
-    private double carryOver;
+    @Column(precision = 7, scale = DAYS_SCALE)
+    @Builder.Default
+    private BigDecimal carryOver = BigDecimal.ZERO;
     
     private int year;
 
@@ -0,0 +1,68 @@
+package com.christabella.africahr.leavemanagement.entity;
+
+import com.christabella.africahr.leavemanagement.enums.BalanceMovementType;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.Immutable;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * One append-only entry in the leave balance ledger. Each entry records how a movement
+ * changed the balance's totals, so summing the deltas of a balance from its opening entry
+ * replays it to its current state.
+ */
+@Entity
+@Immutable
+@Table(name = "leave_balance_ledger", indexes = {
+        @Index(name = "idx_leave_balance_ledger_balance", columnList = "balance_id"),
+        @Index(name = "idx_leave_balance_ledger_user_year", columnList = "user_id, year")
+})
+@Getter
+@NoArgsConstructor @AllArgsConstructor
+@Builder
+public class LeaveBalanceMovement {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long balanceId;
+
+    @Column(nullable = false)
+    private String userId;
+
+    @Column(nullable = false)
+    private Long leaveTypeId;
+
+    @Column(nullable = false)
+    private int year;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 32)
+    private BalanceMovementType movementType;
+
+    @Column(nullable = false, precision = 7, scale = LeaveBalance.DAYS_SCALE)
+    private BigDecimal defaultDelta;
+
+    @Column(nullable = false, precision = 7, scale = LeaveBalance.DAYS_SCALE)
+    private BigDecimal carryOverDelta;
+
+    @Column(nullable = false, precision = 7, scale = LeaveBalance.DAYS_SCALE)
+    private BigDecimal usedDelta;
+
+    @Column(nullable = false, precision = 7, scale = LeaveBalance.DAYS_SCALE)
+    private BigDecimal remainingDelta;
+
+    @Column(nullable = false, precision = 7, scale = LeaveBalance.DAYS_SCALE)
+    private BigDecimal remainingAfter;
+
+    private Long leaveRequestId;
+
+    private String note;
+
+    @Column(nullable = false)
+    private Instant createdAt;
+}
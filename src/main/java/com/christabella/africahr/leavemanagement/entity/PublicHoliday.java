@@ -2,6 +2,8 @@ package com.christabella.africahr.leavemanagement.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
+
 import java.time.LocalDate;
 
 @Entity
@@ -18,6 +20,11 @@ public class PublicHoliday {
         private String name;
         private String description;
 
+        /** ISO 3166-1 alpha-2 code of the country observing this holiday. */
+        @Column(length = 2)
+        @ColumnDefault("'RW'")
+        private String country;
+
     public PublicHoliday(Long id, LocalDate date, String name) {
         this.id = id;
         this.date = date;
@@ -30,5 +37,10 @@ public class PublicHoliday {
         this.name = name;
         this.description = description;
     }
+
+    public PublicHoliday(Long id, LocalDate date, String name, String description, String country) {
+        this(id, date, name, description);
+        this.country = country;
+    }
 }
 
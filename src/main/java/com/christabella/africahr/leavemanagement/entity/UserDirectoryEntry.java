@@ -0,0 +1,38 @@
+package com.christabella.africahr.leavemanagement.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * Local replica of a user's profile as published by the auth service.
+ */
+@Entity
+@Table(name = "user_directory", indexes = {
+        @Index(name = "idx_user_directory_email", columnList = "email"),
+        @Index(name = "idx_user_directory_role", columnList = "role")
+})
+@Getter @Setter
+@NoArgsConstructor @AllArgsConstructor
+@Builder
+public class UserDirectoryEntry {
+
+    @Id
+    private String userId;
+
+    private String fullName;
+
+    private String email;
+
+    private String department;
+
+    @Column(length = 2)
+    private String country;
+
+    private String role;
+
+    private String avatar;
+
+    private Instant updatedAt;
+}
@@ -0,0 +1,10 @@
+package com.christabella.africahr.leavemanagement.enums;
+
+public enum BalanceMovementType {
+    OPENING_BALANCE,
+    ACCRUAL,
+    CARRY_OVER,
+    APPROVAL,
+    MANUAL_ADJUSTMENT,
+    RECONCILIATION,
+}
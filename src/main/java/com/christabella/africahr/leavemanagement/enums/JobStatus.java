@@ -0,0 +1,8 @@
+package com.christabella.africahr.leavemanagement.enums;
+
+public enum JobStatus {
+    PENDING,
+    RUNNING,
+    COMPLETED,
+    FAILED,
+}
@@ -0,0 +1,13 @@
+package com.christabella.africahr.leavemanagement.repository;
+
+import com.christabella.africahr.leavemanagement.entity.LeaveBalanceMovement;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface LeaveBalanceMovementRepository extends JpaRepository<LeaveBalanceMovement, Long> {
+
+    List<LeaveBalanceMovement> findByBalanceIdOrderByIdAsc(Long balanceId);
+
+    List<LeaveBalanceMovement> findByUserIdAndYearOrderByIdAsc(String userId, int year);
+}
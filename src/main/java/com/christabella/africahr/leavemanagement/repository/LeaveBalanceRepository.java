@@ -2,6 +2,10 @@ package com.christabella.africahr.leavemanagement.repository;
 
 import com.christabella.africahr.leavemanagement.entity.LeaveBalance;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -11,6 +15,9 @@ public interface LeaveBalanceRepository extends JpaRepository<LeaveBalance, Long
     List<LeaveBalance> findByUserId(String userId);
     
     List<LeaveBalance> findByUserIdAndYear(String userId, int year);
+
+    @Query("SELECT b FROM LeaveBalance b JOIN FETCH b.leaveType WHERE b.userId IN :userIds AND b.year = :year")
+    List<LeaveBalance> findByUserIdInAndYear(@Param("userIds") Collection<String> userIds, @Param("year") int year);
     
     List<LeaveBalance> findByYear(int year);
     
@@ -4,13 +4,36 @@ import com.christabella.africahr.leavemanagement.entity.LeaveRequest;
 import com.christabella.africahr.leavemanagement.entity.LeaveType;
 import com.christabella.africahr.leavemanagement.enums.LeaveStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
 public interface LeaveRequestRepository extends JpaRepository<LeaveRequest, Long> {
+
+    /**
+     * FROM and WHERE clauses yielding one row {@code d} per business day of each approved
+     * request {@code r} starting in {@code [:from, :to]}: weekends and the public holidays
+     * of the user's country (from the user directory, else {@code :defaultCountry}) are left
+     * out. Callers add their own user filter, select list and grouping.
+     */
+    String APPROVED_BUSINESS_DAYS = """
+            FROM leave_request r
+            LEFT JOIN user_directory u ON u.user_id = r.user_id
+            CROSS JOIN LATERAL generate_series(r.start_date, r.end_date, INTERVAL '1 day') AS d(day)
+            WHERE r.status = 'APPROVED'
+              AND r.start_date BETWEEN :from AND :to
+              AND EXTRACT(ISODOW FROM d.day) < 6
+              AND NOT EXISTS (
+                  SELECT 1 FROM public_holiday h
+                  WHERE h.date = CAST(d.day AS DATE)
+                    AND COALESCE(NULLIF(UPPER(TRIM(h.country)), ''), :defaultCountry)
+                        = COALESCE(NULLIF(UPPER(TRIM(u.country)), ''), :defaultCountry))
+            """;
+
     List<LeaveRequest> findByUserId(String userId);
 
     List<LeaveRequest> findByStatus(LeaveStatus status);
@@ -22,6 +45,23 @@ public interface LeaveRequestRepository extends JpaRepository<LeaveRequest, Long
 
     boolean existsByUserIdAndStatus(String userId, LeaveStatus status);
 
+    /**
+     * Moves a request from {@code from} to {@code to} only while it is still in {@code from}.
+     * Concurrent transitions of one request are serialized by the row lock, so exactly one
+     * of them changes a row.
+     *
+     * @return the number of requests changed, 0 or 1
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("""
+            UPDATE LeaveRequest r SET r.status = :to, r.approverComment = :comment
+            WHERE r.id = :id AND r.status = :from
+            """)
+    int updateStatusIfCurrent(@Param("id") Long id,
+                              @Param("from") LeaveStatus from,
+                              @Param("to") LeaveStatus to,
+                              @Param("comment") String comment);
+
     List<LeaveRequest> findByUserIdAndLeaveTypeAndStatusAndStartDateBetween(
             String userId,
             LeaveType leaveType,
@@ -29,4 +69,26 @@ public interface LeaveRequestRepository extends JpaRepository<LeaveRequest, Long
             LocalDate startDate,
             LocalDate endDate);
 
+    /**
+     * Business days of approved requests starting in {@code [from, to]}, per user and leave
+     * type, counted in the database; see {@link #APPROVED_BUSINESS_DAYS}.
+     */
+    @Query(value = """
+            SELECT r.user_id AS "userId", r.leave_type_id AS "leaveTypeId", COUNT(*) AS "days"
+            """ + APPROVED_BUSINESS_DAYS + """
+              AND r.user_id IN (:userIds)
+            GROUP BY r.user_id, r.leave_type_id
+            """, nativeQuery = true)
+    List<ApprovedDays> sumApprovedBusinessDays(@Param("userIds") Collection<String> userIds,
+                                               @Param("from") LocalDate from,
+                                               @Param("to") LocalDate to,
+                                               @Param("defaultCountry") String defaultCountry);
+
+    interface ApprovedDays {
+        String getUserId();
+
+        Long getLeaveTypeId();
+
+        long getDays();
+    }
 }
@@ -8,6 +8,7 @@ import java.util.List;
 public interface PublicHolidayRepository extends JpaRepository<PublicHoliday, Long> {
     List<PublicHoliday> findByDateAfterOrderByDateAsc(LocalDate today);
     boolean existsByDate(LocalDate date);
+    boolean existsByDateAndCountry(LocalDate date, String country);
     List<PublicHoliday> findByDateBetween(LocalDate start, LocalDate end);
 
 }
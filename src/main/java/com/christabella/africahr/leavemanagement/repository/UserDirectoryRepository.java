@@ -0,0 +1,7 @@
+package com.christabella.africahr.leavemanagement.repository;
+
+import com.christabella.africahr.leavemanagement.entity.UserDirectoryEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface UserDirectoryRepository extends JpaRepository<UserDirectoryEntry, String> {
+}
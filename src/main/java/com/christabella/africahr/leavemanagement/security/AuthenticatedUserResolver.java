@@ -0,0 +1,80 @@
+package com.christabella.africahr.leavemanagement.security;
+
+import com.christabella.africahr.leavemanagement.exception.BadRequestException;
+import com.christabella.africahr.leavemanagement.service.UserServiceClient;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+/**
+ * Resolves the caller's userId and email from the authenticated principal.
+ * Both come straight from the verified JWT claims; the auth service is only
+ * asked when a claim is missing or the userId claim is not a UUID.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AuthenticatedUserResolver {
+
+    private final UserServiceClient userServiceClient;
+
+    public record AuthenticatedUser(String userId, String email) {
+    }
+
+    public AuthenticatedUser resolve() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()) {
+            throw new BadRequestException("User is not authenticated.");
+        }
+
+        String userId = null;
+        String email;
+        Object principal = authentication.getPrincipal();
+        if (principal instanceof CustomUserDetails details) {
+            userId = details.getId();
+            email = details.getUsername();
+        } else if (principal instanceof UserDetails details) {
+            email = details.getUsername();
+        } else if (principal instanceof String name) {
+            email = name;
+        } else {
+            throw new BadRequestException("Unable to extract user ID from authentication.");
+        }
+
+        if (!isUuid(userId)) {
+            // Older tokens carry the email in the userId claim.
+            String lookupEmail = email != null ? email : userId;
+            log.debug("userId claim missing or not a UUID, resolving {} through the auth service", lookupEmail);
+            userId = lookupEmail != null ? userServiceClient.getUserIdByEmail(lookupEmail) : null;
+            if (userId == null) {
+                throw new BadRequestException("Unable to find user ID for email: " + lookupEmail);
+            }
+            if (!isUuid(userId)) {
+                throw new IllegalArgumentException("userId must be a UUID, not an email or invalid string");
+            }
+        }
+
+        if (email == null || email.isBlank()) {
+            email = userServiceClient.getUserEmail(userId);
+        }
+
+        return new AuthenticatedUser(userId, email);
+    }
+
+    private static boolean isUuid(String value) {
+        if (value == null || value.length() != 36) {
+            return false;
+        }
+        try {
+            UUID.fromString(value);
+            return true;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.christabella.africahr.leavemanagement.security;
 
 import com.christabella.africahr.leavemanagement.Config.JwtProperties;
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -9,15 +10,12 @@ import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.util.List;
-import java.util.stream.Collectors;
 
 @Component
 @RequiredArgsConstructor
@@ -47,25 +45,20 @@ public class JwtFilter extends OncePerRequestFilter {
             String token = resolveToken(request);
 
             if (token != null) {
-                if (!jwtTokenProvider.validateToken(token)) {
+                JwtPrincipal principal;
+                try {
+                    principal = jwtTokenProvider.verify(token);
+                } catch (JwtException | IllegalArgumentException e) {
                     logger.warn("Invalid JWT token");
                     respondUnauthorized(response, "Invalid or expired token.");
                     return;
                 }
 
-                String userId = jwtTokenProvider.getUserId(token);
-                String email = jwtTokenProvider.getEmail(token);
-                List<String> roles = jwtTokenProvider.getRoles(token);
-
-                List<SimpleGrantedAuthority> authorities = roles.stream()
-                        .map(role -> role.trim().toUpperCase())
-                        .map(SimpleGrantedAuthority::new)
-                        .collect(Collectors.toList());
-
-                CustomUserDetails customUserDetails = new CustomUserDetails(userId, email, null, authorities);
+                CustomUserDetails customUserDetails = new CustomUserDetails(
+                        principal.userId(), principal.email(), null, principal.authorities());
 
                 UsernamePasswordAuthenticationToken auth =
-                        new UsernamePasswordAuthenticationToken(customUserDetails, null, authorities);
+                        new UsernamePasswordAuthenticationToken(customUserDetails, null, principal.authorities());
 
                 SecurityContextHolder.getContext().setAuthentication(auth);
             }
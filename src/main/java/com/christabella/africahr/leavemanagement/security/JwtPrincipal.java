@@ -0,0 +1,20 @@
+package com.christabella.africahr.leavemanagement.security;
+
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Claims of a verified JWT. Authorities are already normalised, so a cached
+ * principal can be turned into an {@code Authentication} without re-parsing.
+ */
+public record JwtPrincipal(String userId,
+                           String email,
+                           List<SimpleGrantedAuthority> authorities,
+                           Instant expiresAt) {
+
+    public JwtPrincipal {
+        authorities = List.copyOf(authorities);
+    }
+}
@@ -1,65 +1,154 @@
 package com.christabella.africahr.leavemanagement.security;
 
 import com.christabella.africahr.leavemanagement.Config.JwtProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.stereotype.Component;
 
 import java.nio.charset.StandardCharsets;
-import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.HexFormat;
 import java.util.List;
 import java.util.stream.Collectors;
 
 @Component
-@RequiredArgsConstructor
 public class JwtTokenProvider {
 
     private final JwtProperties jwtProperties;
-    private Key signingKey;
+    private final Cache<String, JwtPrincipal> verifiedTokens;
+    private volatile JwtParser parser;
 
-    private Key getSigningKey() {
-        if (signingKey == null) {
-            signingKey = Keys.hmacShaKeyFor(jwtProperties.getSecret().getBytes(StandardCharsets.UTF_8));
+    public JwtTokenProvider(JwtProperties jwtProperties, MeterRegistry meterRegistry) {
+        this.jwtProperties = jwtProperties;
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(jwtProperties.getCache().getMaxSize())
+                .expireAfter(new UntilTokenExpiry(jwtProperties.getCache().getMaxTtl()))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, verifiedTokens, "verifiedTokens");
+    }
+
+    private JwtParser getParser() {
+        if (parser == null) {
+            parser = Jwts.parserBuilder()
+                    .setSigningKey(Keys.hmacShaKeyFor(jwtProperties.getSecret().getBytes(StandardCharsets.UTF_8)))
+                    .build();
+        }
+        return parser;
+    }
+
+    /**
+     * Verifies the token signature and expiry once and returns its claims.
+     * Tokens already verified are served from a bounded cache keyed by the
+     * token's SHA-256 digest until the token's own {@code exp}.
+     *
+     * @throws JwtException if the token is malformed, tampered with or expired
+     */
+    public JwtPrincipal verify(String token) {
+        String digest = digest(token);
+        JwtPrincipal cached = verifiedTokens.getIfPresent(digest);
+        if (cached != null && (cached.expiresAt() == null || cached.expiresAt().isAfter(Instant.now()))) {
+            return cached;
         }
-        return signingKey;
+
+        JwtPrincipal principal = toPrincipal(getParser().parseClaimsJws(token).getBody());
+        verifiedTokens.put(digest, principal);
+        return principal;
     }
 
     public boolean validateToken(String token) {
         try {
-            Jwts.parserBuilder().setSigningKey(getSigningKey()).build().parseClaimsJws(token);
+            verify(token);
             return true;
-        } catch (JwtException e) {
+        } catch (JwtException | IllegalArgumentException e) {
             return false;
         }
     }
 
     public Claims extractClaims(String token) {
-        return Jwts.parserBuilder().setSigningKey(getSigningKey()).build().parseClaimsJws(token).getBody();
+        return getParser().parseClaimsJws(token).getBody();
     }
 
     public String getEmail(String token) {
-        return extractClaims(token).getSubject();
+        return verify(token).email();
     }
 
 
     public String getUserId(String token) {
-        Claims claims = extractClaims(token);
-        Object userId = claims.get("userId");
-        return userId != null ? userId.toString() : null;
+        return verify(token).userId();
     }
 
 
     public List<String> getRoles(String token) {
-        Object roles = extractClaims(token).get("roles");
-        if (roles instanceof List<?>) {
-            return ((List<?>) roles).stream()
-                    .map(Object::toString)
-                    .collect(Collectors.toList());
+        return verify(token).authorities().stream()
+                .map(SimpleGrantedAuthority::getAuthority)
+                .collect(Collectors.toList());
+    }
+
+    private static JwtPrincipal toPrincipal(Claims claims) {
+        Object userId = claims.get("userId");
+        Object roles = claims.get("roles");
+        List<SimpleGrantedAuthority> authorities = roles instanceof List<?> roleList
+                ? roleList.stream()
+                        .map(role -> role.toString().trim().toUpperCase())
+                        .map(SimpleGrantedAuthority::new)
+                        .toList()
+                : List.of();
+        Date expiration = claims.getExpiration();
+        return new JwtPrincipal(
+                userId != null ? userId.toString() : null,
+                claims.getSubject(),
+                authorities,
+                expiration != null ? expiration.toInstant() : null);
+    }
+
+    private static String digest(String token) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(sha256.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
         }
-        return List.of();
     }
 
+    private static final class UntilTokenExpiry implements Expiry<String, JwtPrincipal> {
+
+        private final long maxTtlNanos;
+
+        UntilTokenExpiry(Duration maxTtl) {
+            this.maxTtlNanos = maxTtl.toNanos();
+        }
+
+        @Override
+        public long expireAfterCreate(String key, JwtPrincipal principal, long currentTime) {
+            if (principal.expiresAt() == null) {
+                return maxTtlNanos;
+            }
+            long untilExpiry = Duration.between(Instant.now(), principal.expiresAt()).toNanos();
+            return Math.max(0, Math.min(untilExpiry, maxTtlNanos));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, JwtPrincipal principal, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, principal, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, JwtPrincipal principal, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
 }
@@ -6,13 +6,11 @@ import com.christabella.africahr.leavemanagement.enums.LeaveStatus;
 import com.christabella.africahr.leavemanagement.exception.BadRequestException;
 import com.christabella.africahr.leavemanagement.exception.LeaveBalanceExceededException;
 import com.christabella.africahr.leavemanagement.exception.ResourceNotFoundException;
-import com.christabella.africahr.leavemanagement.repository.LeaveBalanceRepository;
 import com.christabella.africahr.leavemanagement.repository.LeaveRequestRepository;
 import com.christabella.africahr.leavemanagement.repository.PublicHolidayRepository;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
-import java.time.LocalDate;
 import java.util.Collections;
 import java.util.List;
 import org.slf4j.Logger;
@@ -20,13 +18,14 @@ import org.slf4j.LoggerFactory;
 import java.util.Map;
 import java.util.stream.Collectors;
 import com.christabella.africahr.leavemanagement.dto.LeaveRequestDto;
+import com.christabella.africahr.leavemanagement.dto.UserProfileDto;
+import java.util.Objects;
 
 @Service
 @RequiredArgsConstructor
 public class AdminService {
 
     private final LeaveRequestRepository leaveRequestRepository;
-    private final LeaveBalanceRepository leaveBalanceRepository;
     private final EmailService emailService;
     private final UserServiceClient userServiceClient;
     private final NotificationService notificationService;
@@ -47,14 +46,21 @@ public class AdminService {
         if (pending == null || pending.isEmpty()) {
             return Collections.emptyList();
         }
+        Map<String, UserProfileDto> profiles = userServiceClient.getUserProfiles(pending.stream()
+                .map(LeaveRequest::getUserId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet()));
+
         return pending.stream().map(req -> {
             String email = "N/A";
+            String role = null;
             if (req.getUserId() != null) {
-                email = userServiceClient.getUserEmail(req.getUserId());
+                UserProfileDto profile = profiles.get(req.getUserId());
+                email = profile != null ? profile.getEmail() : null;
+                role = profile != null ? profile.getRole() : null;
             } else {
                 logger.warn("LeaveRequest ID {} has null userId!", req.getId());
             }
-            String role = userServiceClient.getUserRole(req.getUserId());
             return LeaveRequestDto.builder()
                     .id(req.getId())
                     .leaveTypeName(req.getLeaveType().getName())
@@ -75,60 +81,29 @@ public class AdminService {
         LeaveRequest request = leaveRequestRepository.findById(requestId)
                 .orElseThrow(() -> new ResourceNotFoundException("Request not found"));
 
-        if (!request.getStatus().equals(LeaveStatus.PENDING)) {
+        // Claims the request before deducting, so a concurrent approval of the same request
+        // finds it no longer pending instead of deducting a second time. A failed deduction
+        // rolls the claim back with the transaction.
+        if (leaveRequestRepository.updateStatusIfCurrent(requestId, LeaveStatus.PENDING, LeaveStatus.APPROVED,
+                comment) == 0) {
             throw new BadRequestException("Only pending requests can be approved");
         }
+        request.setStatus(LeaveStatus.APPROVED);
+        request.setApproverComment(comment);
 
-        int currentYear = LocalDate.now().getYear();
-        
-
-        long businessDays = leaveService.calculateBusinessDays(request.getStartDate(), request.getEndDate());
-        
-        LeaveBalance balance = leaveBalanceRepository
-                .findByUserIdAndLeaveType_IdAndYear(request.getUserId(), request.getLeaveType().getId(), currentYear)
-                .orElse(null);
-
-        if (balance == null) {
-            leaveBalanceService.initializeLeaveBalanceForUser(request.getUserId(), currentYear);
-            balance = leaveBalanceRepository
-                    .findByUserIdAndLeaveType_IdAndYear(request.getUserId(), request.getLeaveType().getId(), currentYear)
-                    .orElseThrow(() -> new ResourceNotFoundException("Leave balance not found after initialization"));
-        }
-
-
-        double availableBalance = Double.parseDouble(balance.getRemainingLeave());
-        
-        if (availableBalance < businessDays) {
-            String message = String.format(
-                    "Insufficient leave balance. User has %.1f days available but requested %d business days.",
-                    availableBalance, businessDays);
-            throw new LeaveBalanceExceededException(message);
-        }
-
-        logger.info("[APPROVE] Before deduction: userId={}, leaveTypeId={}, year={}, availableBalance={}, usedLeave={}",
-                request.getUserId(), request.getLeaveType().getId(), currentYear, availableBalance,
-                balance.getUsedLeave());
+        long businessDays = leaveService.calculateBusinessDays(request.getUserId(), request.getStartDate(), request.getEndDate());
 
         try {
-            request.setStatus(LeaveStatus.APPROVED);
-            request.setApproverComment(comment);
-            
-            leaveBalanceService.updateBalanceForApprovedLeave(request.getUserId(), request.getLeaveType().getId(),
-                    businessDays);
-            logger.info("APPROVE - BALANCE UPDATE SUCCEEDED");
-            
-            LeaveBalance verifiedBalance = leaveBalanceRepository
-                    .findByUserIdAndLeaveType_IdAndYear(request.getUserId(), request.getLeaveType().getId(), currentYear)
-                    .orElse(null);
-                    
-            if (verifiedBalance != null) {
-                logger.info("[APPROVE] After update - DefaultBalance: {}, UsedLeave: {}, RemainingLeave: {}",
-                        verifiedBalance.getDefaultBalance(),
-                        verifiedBalance.getUsedLeave(),
-                        verifiedBalance.getRemainingLeave());
-            } else {
-                logger.error("[APPROVE] Failed to verify balance in DB after update!");
-            }
+            // Checks and deducts in one guarded update, so concurrent approvals cannot overdraw the balance.
+            LeaveBalance updated = leaveBalanceService.updateBalanceForApprovedLeave(request.getUserId(),
+                    request.getLeaveType().getId(), businessDays, request.getId());
+            logger.info("[APPROVE] After update - DefaultBalance: {}, UsedLeave: {}, RemainingLeave: {}",
+                    updated.getDefaultBalance(),
+                    updated.getUsedLeave(),
+                    updated.getRemainingLeave());
+        } catch (LeaveBalanceExceededException e) {
+            logger.info("APPROVE - INSUFFICIENT BALANCE: {}", e.getMessage());
+            throw e;
         } catch (Exception e) {
             logger.error("APPROVE - BALANCE UPDATE FAILED: {}", e.getMessage(), e);
             throw e;
@@ -0,0 +1,124 @@
+package com.christabella.africahr.leavemanagement.service;
+
+import com.christabella.africahr.leavemanagement.Config.AuthServiceProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * In-memory roster of leave approvers (managers and admins) with their display
+ * names. The roster is refreshed in the background once it has lived for
+ * {@code auth.service.roster.refresh-ahead} of its refresh interval, before it
+ * goes stale, and a failed refresh keeps serving the previous snapshot, so
+ * applying for leave does not wait on the auth service for approver lookups.
+ * Loads are coalesced: callers arriving while one is in flight share its result.
+ */
+@Service
+@Slf4j
+public class ApproverRosterService {
+
+    private static final String LOAD_KEY = "approver-roster";
+
+    private final UserServiceClient userServiceClient;
+    private final AsyncTaskExecutor authLookupExecutor;
+    private final AuthServiceProperties authServiceProperties;
+    private final SingleFlight singleFlight;
+    private final AtomicBoolean refreshing = new AtomicBoolean(false);
+
+    private volatile Roster roster;
+
+    public ApproverRosterService(UserServiceClient userServiceClient,
+                                 @Qualifier("authLookupExecutor") AsyncTaskExecutor authLookupExecutor,
+                                 AuthServiceProperties authServiceProperties,
+                                 SingleFlight singleFlight) {
+        this.userServiceClient = userServiceClient;
+        this.authLookupExecutor = authLookupExecutor;
+        this.authServiceProperties = authServiceProperties;
+        this.singleFlight = singleFlight;
+    }
+
+    public record Roster(Map<String, String> namesByEmail, Instant loadedAt) {
+        public Set<String> emails() {
+            return namesByEmail.keySet();
+        }
+
+        public String nameOf(String email) {
+            return namesByEmail.getOrDefault(email, "Approver");
+        }
+    }
+
+    /**
+     * Returns the current roster. Only calls made before any snapshot exists
+     * wait, all on the same load; afterwards a roster past the refresh-ahead
+     * point triggers one background refresh while the current one is returned.
+     */
+    public Roster getRoster() {
+        Roster current = roster;
+        if (current == null) {
+            current = load();
+            return current != null ? current : new Roster(Map.of(), Instant.now());
+        }
+        AuthServiceProperties.Roster settings = authServiceProperties.getRoster();
+        Duration refreshAfter = Duration.ofMillis(
+                (long) (settings.getRefreshInterval().toMillis() * settings.getRefreshAhead()));
+        if (current.loadedAt().plus(refreshAfter).isBefore(Instant.now()) && refreshing.compareAndSet(false, true)) {
+            try {
+                authLookupExecutor.execute(() -> {
+                    try {
+                        load();
+                    } finally {
+                        refreshing.set(false);
+                    }
+                });
+            } catch (RuntimeException e) {
+                refreshing.set(false);
+                log.warn("Could not schedule approver roster refresh: {}", e.getMessage());
+            }
+        }
+        return current;
+    }
+
+    @Scheduled(fixedDelayString = "${auth.service.roster.refresh-interval}",
+            initialDelayString = "${auth.service.roster.refresh-interval}")
+    public void refresh() {
+        load();
+    }
+
+    private Roster load() {
+        try {
+            return singleFlight.execute(LOAD_KEY, this::reload);
+        } catch (Exception e) {
+            log.warn("Approver roster refresh failed, keeping previous snapshot: {}", e.getMessage());
+            return roster;
+        }
+    }
+
+    private Roster reload() {
+        Set<String> emails = new LinkedHashSet<>();
+        emails.addAll(userServiceClient.getManagerEmails());
+        emails.addAll(userServiceClient.getAdminEmails());
+
+        if (emails.isEmpty() && roster != null) {
+            log.warn("Approver roster refresh returned no approvers, keeping previous snapshot");
+            return roster;
+        }
+
+        Map<String, String> resolved = userServiceClient.lookupAll(emails, userServiceClient::getUserFullNameByEmail);
+        Map<String, String> names = new HashMap<>();
+        emails.forEach(email -> names.put(email, resolved.getOrDefault(email, "Approver")));
+        Roster loaded = new Roster(Map.copyOf(names), Instant.now());
+        roster = loaded;
+        log.debug("Approver roster refreshed: {} approvers", names.size());
+        return loaded;
+    }
+}
@@ -0,0 +1,39 @@
+package com.christabella.africahr.leavemanagement.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Completes checkpointed balance runs that failed or were abandoned by a node that went
+ * away. Runs shortly after startup and then periodically, and can be triggered by an admin;
+ * the checkpoint claim keeps concurrent sweeps from processing the same run twice.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BalanceJobRecovery {
+
+    static final String JOB_TYPE = "balance-job-recovery";
+
+    private final LeaveAccrualJob leaveAccrualJob;
+    private final LeaveCarryOverJob leaveCarryOverJob;
+    private final JobRegistry jobRegistry;
+
+    @Scheduled(initialDelayString = "${leave.jobs.recovery-initial-delay:PT1M}",
+            fixedDelayString = "${leave.jobs.recovery-interval:PT15M}")
+    public void recoverUnfinishedRuns() {
+        log.debug("Balance job recovery sweep: {}", recover());
+    }
+
+    public JobRegistry.TrackedJob start() {
+        return jobRegistry.submit(JOB_TYPE, job -> recover());
+    }
+
+    String recover() {
+        int accruals = leaveAccrualJob.resumeUnfinished();
+        int carryOvers = leaveCarryOverJob.resumeUnfinished();
+        return "Resumed " + accruals + " monthly accrual run(s) and " + carryOvers + " carry-over run(s)";
+    }
+}
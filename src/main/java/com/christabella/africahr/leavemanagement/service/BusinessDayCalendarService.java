@@ -0,0 +1,179 @@
+package com.christabella.africahr.leavemanagement.service;
+
+import com.christabella.africahr.leavemanagement.entity.PublicHoliday;
+import com.christabella.africahr.leavemanagement.entity.UserDirectoryEntry;
+import com.christabella.africahr.leavemanagement.repository.PublicHolidayRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+/**
+ * Counts business days against per-country holiday calendars. All holidays are loaded once
+ * and compiled into an immutable map of {@link CountryCalendar}s; edits publish a
+ * {@link PublicHolidaysChangedEvent} and the whole map is rebuilt and swapped atomically,
+ * so counting never touches the database and readers never see a half-applied edit.
+ */
+@Service
+public class BusinessDayCalendarService {
+
+    private static final Logger log = LoggerFactory.getLogger(BusinessDayCalendarService.class);
+
+    private final PublicHolidayRepository publicHolidayRepository;
+    private final UserDirectory userDirectory;
+    private final String defaultCountry;
+    private final CountryCalendar weekendsOnly = new CountryCalendar(Map.of());
+    private final AtomicReference<Map<String, CountryCalendar>> calendars = new AtomicReference<>();
+
+    public BusinessDayCalendarService(PublicHolidayRepository publicHolidayRepository,
+                                      UserDirectory userDirectory,
+                                      @Value("${holidays.default-country:RW}") String defaultCountry) {
+        this.publicHolidayRepository = publicHolidayRepository;
+        this.userDirectory = userDirectory;
+        this.defaultCountry = normalizeCountry(defaultCountry);
+    }
+
+    public String getDefaultCountry() {
+        return defaultCountry;
+    }
+
+    /**
+     * The applicant's country from the local user directory, or the default country
+     * when the directory does not know it yet.
+     */
+    public String countryOf(String userId) {
+        return userDirectory.findById(userId)
+                .map(UserDirectoryEntry::getCountry)
+                .map(this::resolveCountry)
+                .orElse(defaultCountry);
+    }
+
+    public long countBusinessDays(LocalDate startDate, LocalDate endDate) {
+        return countBusinessDays(defaultCountry, startDate, endDate);
+    }
+
+    public long countBusinessDays(String country, LocalDate startDate, LocalDate endDate) {
+        return count(calendarOf(snapshot(), country), startDate, endDate);
+    }
+
+    public long countBusinessDaysForUser(String userId, LocalDate startDate, LocalDate endDate) {
+        return countBusinessDays(countryOf(userId), startDate, endDate);
+    }
+
+    /**
+     * Counts business days for many ranges against one calendar snapshot.
+     *
+     * @return counts in the same order as {@code ranges}
+     */
+    public long[] countBusinessDays(List<DateRange> ranges) {
+        Map<String, CountryCalendar> snapshot = snapshot();
+        long[] counts = new long[ranges.size()];
+        for (int i = 0; i < counts.length; i++) {
+            DateRange range = ranges.get(i);
+            counts[i] = count(calendarOf(snapshot, range.country()), range.start(), range.end());
+        }
+        return counts;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onHolidaysChanged(PublicHolidaysChangedEvent event) {
+        refresh();
+        log.info("Public holidays changed for {}; holiday calendars recompiled", event.years());
+    }
+
+    /**
+     * Reloads every holiday and swaps in a freshly compiled set of country calendars.
+     */
+    public synchronized void refresh() {
+        Map<String, Map<Integer, Set<LocalDate>>> holidays = publicHolidayRepository.findAll().stream()
+                .filter(holiday -> holiday.getDate() != null)
+                .collect(Collectors.groupingBy(
+                        holiday -> resolveCountry(holiday.getCountry()),
+                        Collectors.groupingBy(holiday -> holiday.getDate().getYear(),
+                                Collectors.mapping(PublicHoliday::getDate, Collectors.toUnmodifiableSet()))));
+
+        Map<String, CountryCalendar> compiled = holidays.entrySet().stream()
+                .collect(Collectors.toUnmodifiableMap(Map.Entry::getKey, e -> new CountryCalendar(Map.copyOf(e.getValue()))));
+        calendars.set(compiled);
+        log.debug("Compiled holiday calendars for countries {}", compiled.keySet());
+    }
+
+    private Map<String, CountryCalendar> snapshot() {
+        Map<String, CountryCalendar> snapshot = calendars.get();
+        if (snapshot == null) {
+            refresh();
+            snapshot = calendars.get();
+        }
+        return snapshot;
+    }
+
+    private CountryCalendar calendarOf(Map<String, CountryCalendar> snapshot, String country) {
+        return snapshot.getOrDefault(resolveCountry(country), weekendsOnly);
+    }
+
+    private String resolveCountry(String country) {
+        String normalized = normalizeCountry(country);
+        return normalized != null ? normalized : defaultCountry;
+    }
+
+    static String normalizeCountry(String country) {
+        return country != null && !country.isBlank() ? country.trim().toUpperCase(Locale.ROOT) : null;
+    }
+
+    private static long count(CountryCalendar calendar, LocalDate startDate, LocalDate endDate) {
+        if (startDate == null || endDate == null || startDate.isAfter(endDate)) {
+            return 0;
+        }
+        if (startDate.getYear() == endDate.getYear()) {
+            return calendar.calendarFor(startDate.getYear()).countBetween(startDate, endDate);
+        }
+
+        long days = calendar.calendarFor(startDate.getYear())
+                .countBetween(startDate, LocalDate.of(startDate.getYear(), 12, 31));
+        for (int year = startDate.getYear() + 1; year < endDate.getYear(); year++) {
+            days += calendar.calendarFor(year).totalBusinessDays();
+        }
+        days += calendar.calendarFor(endDate.getYear())
+                .countBetween(LocalDate.of(endDate.getYear(), 1, 1), endDate);
+        return days;
+    }
+
+    /**
+     * One country's holidays, compiled per year on first use. The holiday set never changes
+     * after construction, so the memoised year calendars are safe to share.
+     */
+    static final class CountryCalendar {
+
+        private final Map<Integer, Set<LocalDate>> holidaysByYear;
+        private final Map<Integer, WorkingDayCalendar> years = new ConcurrentHashMap<>();
+
+        CountryCalendar(Map<Integer, Set<LocalDate>> holidaysByYear) {
+            this.holidaysByYear = holidaysByYear;
+        }
+
+        WorkingDayCalendar calendarFor(int year) {
+            return years.computeIfAbsent(year,
+                    y -> WorkingDayCalendar.build(y, holidaysByYear.getOrDefault(y, Set.of())));
+        }
+    }
+
+    /**
+     * An inclusive date range; a {@code null} country means the default country.
+     */
+    public record DateRange(String country, LocalDate start, LocalDate end) {
+
+        public DateRange(LocalDate start, LocalDate end) {
+            this(null, start, end);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.christabella.africahr.leavemanagement.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Claims and advances {@code job_checkpoint} rows. A run is claimed with a conditional
+ * update, so only one node works on a (job, period) at a time; a RUNNING claim whose
+ * owner stopped heart-beating for longer than the lease can be taken over and resumes
+ * from the last committed position. Completed periods are never claimed again.
+ */
+@Component
+@RequiredArgsConstructor
+public class JobCheckpoints {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String owner = UUID.randomUUID().toString();
+
+    public Optional<Checkpoint> claim(String jobName, String periodKey, Duration lease) {
+        jdbcTemplate.update("""
+                INSERT INTO job_checkpoint (job_name, period_key, status, last_processed_id, processed_count,
+                        started_at, updated_at)
+                VALUES (?, ?, 'PENDING', 0, 0, now(), now())
+                ON CONFLICT (job_name, period_key) DO NOTHING
+                """, jobName, periodKey);
+
+        List<Checkpoint> claimed = jdbcTemplate.query("""
+                UPDATE job_checkpoint
+                SET status = 'RUNNING', owner = ?, message = NULL, updated_at = now()
+                WHERE job_name = ? AND period_key = ?
+                  AND (status IN ('PENDING', 'FAILED')
+                       OR (status = 'RUNNING' AND updated_at < now() - (? * INTERVAL '1 second')))
+                RETURNING last_processed_id, processed_count
+                """,
+                (rs, i) -> new Checkpoint(jobName, periodKey, rs.getLong(1), rs.getLong(2)),
+                owner, jobName, periodKey, lease.toSeconds());
+        return claimed.stream().findFirst();
+    }
+
+    /**
+     * Periods of a job that were started but never completed: failed runs, and runs whose
+     * owner stopped heart-beating for longer than the lease. Each can be passed back to
+     * {@link #claim} to resume from its last committed position.
+     */
+    public List<String> resumablePeriods(String jobName, Duration lease) {
+        return jdbcTemplate.queryForList("""
+                SELECT period_key FROM job_checkpoint
+                WHERE job_name = ?
+                  AND (status IN ('PENDING', 'FAILED')
+                       OR (status = 'RUNNING' AND updated_at < now() - (? * INTERVAL '1 second')))
+                ORDER BY period_key
+                """, String.class, jobName, lease.toSeconds());
+    }
+
+    /**
+     * Moves the checkpoint forward. Call inside the transaction that processed the chunk so
+     * the work and the position commit together; fails if this node no longer owns the run.
+     */
+    public Checkpoint advance(Checkpoint checkpoint, long lastProcessedId, long processed) {
+        int updated = jdbcTemplate.update("""
+                UPDATE job_checkpoint
+                SET last_processed_id = ?, processed_count = processed_count + ?, updated_at = now()
+                WHERE job_name = ? AND period_key = ? AND owner = ? AND status = 'RUNNING'
+                """, lastProcessedId, processed, checkpoint.jobName(), checkpoint.periodKey(), owner);
+        if (updated == 0) {
+            throw new IllegalStateException("Lost ownership of " + checkpoint.jobName() + " " + checkpoint.periodKey());
+        }
+        return new Checkpoint(checkpoint.jobName(), checkpoint.periodKey(), lastProcessedId,
+                checkpoint.processedCount() + processed);
+    }
+
+    public void complete(Checkpoint checkpoint) {
+        jdbcTemplate.update("""
+                UPDATE job_checkpoint
+                SET status = 'COMPLETED', completed_at = now(), updated_at = now()
+                WHERE job_name = ? AND period_key = ? AND owner = ?
+                """, checkpoint.jobName(), checkpoint.periodKey(), owner);
+    }
+
+    public void fail(Checkpoint checkpoint, String message) {
+        jdbcTemplate.update("""
+                UPDATE job_checkpoint
+                SET status = 'FAILED', message = ?, updated_at = now()
+                WHERE job_name = ? AND period_key = ? AND owner = ?
+                """, abbreviate(message), checkpoint.jobName(), checkpoint.periodKey(), owner);
+    }
+
+    private static String abbreviate(String message) {
+        return message != null && message.length() > 255 ? message.substring(0, 255) : message;
+    }
+
+    public record Checkpoint(String jobName, String periodKey, long lastProcessedId, long processedCount) {
+    }
+}
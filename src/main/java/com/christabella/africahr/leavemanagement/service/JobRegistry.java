@@ -0,0 +1,167 @@
+package com.christabella.africahr.leavemanagement.service;
+
+import com.christabella.africahr.leavemanagement.dto.JobStatusDto;
+import com.christabella.africahr.leavemanagement.enums.JobStatus;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Runs admin-triggered background jobs and keeps their progress pollable for
+ * {@code leave.jobs.retention} after they finish. At most one job of a type runs at a
+ * time; submitting the same type again while it runs returns the running job.
+ */
+@Component
+@Slf4j
+public class JobRegistry {
+
+    private final AsyncTaskExecutor executor;
+    private final Cache<String, TrackedJob> jobs;
+    private final Map<String, TrackedJob> activeByType = new ConcurrentHashMap<>();
+
+    public JobRegistry(@Qualifier("backgroundJobExecutor") AsyncTaskExecutor executor,
+                       @Value("${leave.jobs.retention:24h}") Duration retention) {
+        this.executor = executor;
+        this.jobs = Caffeine.newBuilder()
+                .expireAfterWrite(retention)
+                .maximumSize(1_000)
+                .build();
+    }
+
+    /**
+     * Starts {@code work} in the background. The function reports progress on the
+     * tracked job it is given and returns the message shown once the job completes.
+     */
+    public synchronized TrackedJob submit(String type, Function<TrackedJob, String> work) {
+        TrackedJob active = activeByType.get(type);
+        if (active != null) {
+            log.info("Job {} of type {} is already {}, not starting another", active.getId(), type, active.getStatus());
+            return active;
+        }
+
+        TrackedJob job = new TrackedJob(UUID.randomUUID().toString(), type);
+        jobs.put(job.getId(), job);
+        activeByType.put(type, job);
+        try {
+            executor.execute(() -> run(job, work));
+        } catch (RuntimeException e) {
+            activeByType.remove(type, job);
+            job.finish(JobStatus.FAILED, "Could not be scheduled: " + e.getMessage());
+            throw e;
+        }
+        return job;
+    }
+
+    public Optional<TrackedJob> find(String jobId) {
+        return Optional.ofNullable(jobs.getIfPresent(jobId));
+    }
+
+    private void run(TrackedJob job, Function<TrackedJob, String> work) {
+        job.status = JobStatus.RUNNING;
+        log.info("Job {} ({}) started", job.getId(), job.getType());
+        try {
+            job.finish(JobStatus.COMPLETED, work.apply(job));
+            log.info("Job {} ({}) completed: {}", job.getId(), job.getType(), job.message);
+        } catch (RuntimeException e) {
+            job.finish(JobStatus.FAILED, e.getMessage());
+            log.error("Job {} ({}) failed: {}", job.getId(), job.getType(), e.getMessage(), e);
+        } finally {
+            activeByType.remove(job.getType(), job);
+        }
+    }
+
+    /**
+     * Progress of one background job. Counters are updated concurrently by the job's workers.
+     */
+    public static final class TrackedJob {
+
+        private final String id;
+        private final String type;
+        private final Instant startedAt = Instant.now();
+        private final AtomicLong total = new AtomicLong();
+        private final AtomicLong processed = new AtomicLong();
+        private final AtomicLong failed = new AtomicLong();
+        private volatile JobStatus status = JobStatus.PENDING;
+        private volatile String message;
+        private volatile Object result;
+        private volatile Instant finishedAt;
+
+        TrackedJob(String id, String type) {
+            this.id = id;
+            this.type = type;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public String getType() {
+            return type;
+        }
+
+        public JobStatus getStatus() {
+            return status;
+        }
+
+        public void setTotal(long total) {
+            this.total.set(total);
+        }
+
+        public void addProcessed(long count) {
+            processed.addAndGet(count);
+        }
+
+        public void addFailed(long count) {
+            failed.addAndGet(count);
+        }
+
+        /**
+         * Attaches a report that is returned with the job's status.
+         */
+        public void setResult(Object result) {
+            this.result = result;
+        }
+
+        public long getProcessed() {
+            return processed.get();
+        }
+
+        public long getFailed() {
+            return failed.get();
+        }
+
+        void finish(JobStatus status, String message) {
+            this.message = message;
+            this.finishedAt = Instant.now();
+            this.status = status;
+        }
+
+        public JobStatusDto toDto() {
+            return JobStatusDto.builder()
+                    .id(id)
+                    .type(type)
+                    .status(status)
+                    .total(total.get())
+                    .processed(processed.get())
+                    .failed(failed.get())
+                    .message(message)
+                    .result(result)
+                    .startedAt(startedAt)
+                    .finishedAt(finishedAt)
+                    .build();
+        }
+    }
+}
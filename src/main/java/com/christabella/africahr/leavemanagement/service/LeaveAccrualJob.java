@@ -0,0 +1,187 @@
+package com.christabella.africahr.leavemanagement.service;
+
+import com.christabella.africahr.leavemanagement.entity.LeaveType;
+import com.christabella.africahr.leavemanagement.repository.LeaveTypeRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Array;
+import java.time.Duration;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * Monthly accrual as a set-based pass over the current year's accruing balances. Balances
+ * are processed in id-ordered chunks; each chunk updates the balances, appends the ACCRUAL
+ * ledger entries and advances the checkpoint in one statement-and-transaction, so a run is
+ * idempotent per (year, month): a re-run, a restart or a second node firing the same cron
+ * either resumes where the last committed chunk stopped or does nothing.
+ */
+@Service
+@Slf4j
+public class LeaveAccrualJob {
+
+    static final String JOB_NAME = "monthly-accrual";
+    static final String MONTHLY_ACCRUAL = "1.66";
+    private static final List<String> ACCRUING_TYPE_MARKERS = List.of("personal", "pto", "annual");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final LeaveTypeRepository leaveTypeRepository;
+    private final JobCheckpoints jobCheckpoints;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int chunkSize;
+    private final Duration lease;
+
+    public LeaveAccrualJob(JdbcTemplate jdbcTemplate,
+                           TransactionTemplate transactionTemplate,
+                           LeaveTypeRepository leaveTypeRepository,
+                           JobCheckpoints jobCheckpoints,
+                           ApplicationEventPublisher eventPublisher,
+                           @Value("${leave.jobs.chunk-size:5000}") int chunkSize,
+                           @Value("${leave.jobs.lease:15m}") Duration lease) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.leaveTypeRepository = leaveTypeRepository;
+        this.jobCheckpoints = jobCheckpoints;
+        this.eventPublisher = eventPublisher;
+        this.chunkSize = chunkSize;
+        this.lease = lease;
+    }
+
+    /**
+     * Leave types that accrue monthly and carry over at year end.
+     */
+    public static boolean isAccruing(LeaveType leaveType) {
+        String name = leaveType.getName() != null ? leaveType.getName().toLowerCase(Locale.ROOT) : "";
+        return ACCRUING_TYPE_MARKERS.stream().anyMatch(name::contains);
+    }
+
+    @Scheduled(cron = "0 0 0 1 * *", zone = "Africa/Kigali")
+    public void accrueMonthlyLeave() {
+        accrue(YearMonth.now(ZoneId.of("Africa/Kigali")));
+    }
+
+    /**
+     * Accrues one month for every accruing balance of that month's year.
+     *
+     * @return the number of balances processed by this call, or empty if the period
+     * was already completed or is being processed by another node
+     */
+    public Optional<Long> accrue(YearMonth period) {
+        Optional<JobCheckpoints.Checkpoint> claimed = jobCheckpoints.claim(JOB_NAME, period.toString(), lease);
+        if (claimed.isEmpty()) {
+            log.info("Monthly accrual for {} already done or running elsewhere, skipping", period);
+            return Optional.empty();
+        }
+
+        Long[] leaveTypeIds = leaveTypeRepository.findAll().stream()
+                .filter(LeaveAccrualJob::isAccruing)
+                .map(LeaveType::getId)
+                .toArray(Long[]::new);
+
+        JobCheckpoints.Checkpoint checkpoint = claimed.get();
+        long startCount = checkpoint.processedCount();
+        log.info("Running monthly leave accrual for {} from balance id {}", period, checkpoint.lastProcessedId());
+        try {
+            while (true) {
+                JobCheckpoints.Checkpoint current = checkpoint;
+                JobCheckpoints.Checkpoint next = transactionTemplate.execute(status -> accrueChunk(current, period, leaveTypeIds));
+                if (next == null) {
+                    break;
+                }
+                checkpoint = next;
+            }
+            jobCheckpoints.complete(checkpoint);
+        } catch (RuntimeException e) {
+            jobCheckpoints.fail(checkpoint, e.getMessage());
+            log.error("Monthly accrual for {} failed after balance id {}: {}",
+                    period, checkpoint.lastProcessedId(), e.getMessage(), e);
+            throw e;
+        } finally {
+            eventPublisher.publishEvent(LeaveBalanceChangedEvent.allUsers(period.getYear()));
+        }
+
+        long processed = checkpoint.processedCount() - startCount;
+        log.info("Monthly leave accrual for {} completed: {} balances", period, processed);
+        return Optional.of(processed);
+    }
+
+    /**
+     * Re-runs months whose accrual failed or was abandoned mid-run; each resumes after its
+     * last committed chunk. The cron only ever claims the current month, so without this an
+     * unfinished month would never be completed.
+     *
+     * @return the number of months resumed
+     */
+    public int resumeUnfinished() {
+        int resumed = 0;
+        for (String period : jobCheckpoints.resumablePeriods(JOB_NAME, lease)) {
+            try {
+                if (accrue(YearMonth.parse(period)).isPresent()) {
+                    resumed++;
+                }
+            } catch (RuntimeException e) {
+                log.warn("Resuming monthly accrual for {} failed again: {}", period, e.getMessage());
+            }
+        }
+        return resumed;
+    }
+
+    private JobCheckpoints.Checkpoint accrueChunk(JobCheckpoints.Checkpoint checkpoint, YearMonth period,
+                                                  Long[] leaveTypeIds) {
+        long[] result = jdbcTemplate.query(connection -> {
+            var statement = connection.prepareStatement("""
+                    WITH chunk AS (
+                        SELECT b.id, COALESCE(b.remaining_days, 0) AS old_remaining,
+                               ROUND(CAST(t.default_balance AS NUMERIC), 2) AS cap
+                        FROM leave_balance b
+                        JOIN leave_type t ON t.id = b.leave_type_id
+                        WHERE b.year = ? AND b.leave_type_id = ANY (?) AND b.id > ?
+                        ORDER BY b.id
+                        LIMIT ?
+                    ), updated AS (
+                        UPDATE leave_balance b
+                        SET remaining_days = LEAST(chunk.old_remaining + CAST(? AS NUMERIC), chunk.cap)
+                        FROM chunk
+                        WHERE b.id = chunk.id
+                        RETURNING b.id, b.user_id, b.leave_type_id, b.year, b.remaining_days,
+                                  b.remaining_days - chunk.old_remaining AS delta
+                    ), ledger AS (
+                        INSERT INTO leave_balance_ledger (balance_id, user_id, leave_type_id, year, movement_type,
+                                default_delta, carry_over_delta, used_delta, remaining_delta, remaining_after,
+                                note, created_at)
+                        SELECT id, user_id, leave_type_id, year, 'ACCRUAL', 0, 0, 0, delta, remaining_days,
+                               ?, now()
+                        FROM updated
+                        WHERE delta <> 0
+                    )
+                    SELECT COALESCE(MAX(id), 0), COUNT(*) FROM updated
+                    """);
+            Array typeIds = connection.createArrayOf("bigint", leaveTypeIds);
+            statement.setInt(1, period.getYear());
+            statement.setArray(2, typeIds);
+            statement.setLong(3, checkpoint.lastProcessedId());
+            statement.setInt(4, chunkSize);
+            statement.setString(5, MONTHLY_ACCRUAL);
+            statement.setString(6, "Monthly accrual " + period);
+            return statement;
+        }, rs -> {
+            rs.next();
+            return new long[]{rs.getLong(1), rs.getLong(2)};
+        });
+
+        if (result == null || result[1] == 0) {
+            return null;
+        }
+        return jobCheckpoints.advance(checkpoint, result[0], result[1]);
+    }
+}
@@ -0,0 +1,185 @@
+package com.christabella.africahr.leavemanagement.service;
+
+import com.christabella.africahr.leavemanagement.entity.LeaveBalance;
+import com.christabella.africahr.leavemanagement.enums.BalanceMovementType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * JDBC batch writes for jobs that touch many balances at once. Saving balances one by one
+ * through JPA costs a round trip per row, so bulk paths write balances and their ledger
+ * entries here, inside the caller's transaction.
+ */
+@Component
+@RequiredArgsConstructor
+public class LeaveBalanceBatchWriter {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Assigns ids from {@code leave_balance_seq} and inserts the balances in one batch.
+     * Balances that already exist for the same user, leave type and year, e.g. opened
+     * concurrently by a first visit, are skipped.
+     *
+     * @return the balances that were actually inserted
+     */
+    public List<LeaveBalance> insert(List<LeaveBalance> balances) {
+        if (balances.isEmpty()) {
+            return List.of();
+        }
+        Iterator<Long> ids = allocateIds(balances.size()).iterator();
+        balances.forEach(balance -> balance.setId(ids.next()));
+
+        int[][] counts = jdbcTemplate.batchUpdate("""
+                INSERT INTO leave_balance (id, user_id, user_email, leave_type_id, default_balance, used_leave,
+                        remaining_days, carry_over, year, manually_adjusted)
+                VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+                ON CONFLICT (user_id, leave_type_id, year) DO NOTHING
+                """, balances, balances.size(), (ps, balance) -> {
+            ps.setLong(1, balance.getId());
+            ps.setString(2, balance.getUserId());
+            ps.setString(3, balance.getUserEmail());
+            ps.setLong(4, balance.getLeaveType().getId());
+            ps.setBigDecimal(5, balance.getDefaultBalance());
+            ps.setBigDecimal(6, balance.getUsedLeave());
+            ps.setBigDecimal(7, balance.getRemainingLeave());
+            ps.setBigDecimal(8, balance.getCarryOver());
+            ps.setInt(9, balance.getYear());
+            ps.setBoolean(10, balance.isManuallyAdjusted());
+        });
+        return byOutcome(balances, counts, true);
+    }
+
+    /**
+     * Reserves ids the way Hibernate's pooled optimizer does: every sequence value
+     * {@code v} stands for the block {@code (v - allocationSize, v]}.
+     */
+    private List<Long> allocateIds(int count) {
+        int blockSize = LeaveBalance.ID_ALLOCATION_SIZE;
+        int blocks = (count + blockSize - 1) / blockSize;
+        List<Long> ids = new ArrayList<>(count);
+        for (Long high : jdbcTemplate.queryForList(
+                "SELECT nextval('leave_balance_seq') FROM generate_series(1, ?)", Long.class, blocks)) {
+            for (long id = high - blockSize + 1; id <= high && ids.size() < count; id++) {
+                ids.add(id);
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Applies carry-over movements of already persisted balances in one batch. Only
+     * {@code carry_over} is set; {@code remaining_days} moves by the movement's delta relative
+     * to the stored value. Each row is guarded on the used and remaining days the movement was
+     * computed from, so a balance changed in the meantime (e.g. an approval) is left untouched.
+     *
+     * @return the movements that were not applied because their balance changed; re-read
+     * those balances and retry
+     */
+    public List<Movement> applyCarryOver(List<Movement> movements) {
+        if (movements.isEmpty()) {
+            return List.of();
+        }
+        int[][] counts = jdbcTemplate.batchUpdate("""
+                UPDATE leave_balance
+                SET carry_over = ?, remaining_days = COALESCE(remaining_days, 0) + ?
+                WHERE id = ?
+                  AND used_leave = ?
+                  AND COALESCE(remaining_days, 0) = ?
+                """, movements, movements.size(), (ps, movement) -> {
+            ps.setBigDecimal(1, movement.balance().getCarryOver());
+            ps.setBigDecimal(2, movement.delta().remaining());
+            ps.setLong(3, movement.balance().getId());
+            ps.setBigDecimal(4, movement.before().used());
+            ps.setBigDecimal(5, movement.before().remaining());
+        });
+
+        return byOutcome(movements, counts, false);
+    }
+
+    /**
+     * The items whose statement did ({@code changed}) or did not change a row, in order,
+     * matched against the per-batch update counts.
+     */
+    private static <T> List<T> byOutcome(List<T> items, int[][] counts, boolean changed) {
+        List<T> matching = new ArrayList<>();
+        int index = 0;
+        for (int[] batch : counts) {
+            for (int count : batch) {
+                if ((count != 0) == changed) {
+                    matching.add(items.get(index));
+                }
+                index++;
+            }
+        }
+        return matching;
+    }
+
+    /**
+     * Appends ledger entries in one batch, skipping movements that changed nothing.
+     * Balance ids are read at write time, so movements of balances inserted in the same
+     * chunk can be collected before {@link #insert} runs.
+     */
+    public void appendMovements(List<Movement> movements) {
+        List<Movement> effective = movements.stream()
+                .filter(m -> m.type() == BalanceMovementType.OPENING_BALANCE || !m.delta().isZero())
+                .toList();
+        if (effective.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.from(Instant.now());
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO leave_balance_ledger (balance_id, user_id, leave_type_id, year, movement_type,
+                        default_delta, carry_over_delta, used_delta, remaining_delta, remaining_after,
+                        leave_request_id, note, created_at)
+                VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+                """, effective, effective.size(), (ps, movement) -> {
+            LeaveBalance balance = movement.balance();
+            LeaveBalanceLedger.Totals delta = movement.delta();
+            ps.setLong(1, balance.getId());
+            ps.setString(2, balance.getUserId());
+            ps.setLong(3, balance.getLeaveType().getId());
+            ps.setInt(4, balance.getYear());
+            ps.setString(5, movement.type().name());
+            ps.setBigDecimal(6, delta.defaultBalance());
+            ps.setBigDecimal(7, delta.carryOver());
+            ps.setBigDecimal(8, delta.used());
+            ps.setBigDecimal(9, delta.remaining());
+            ps.setBigDecimal(10, movement.after().remaining());
+            ps.setNull(11, Types.BIGINT);
+            ps.setString(12, movement.note());
+            ps.setTimestamp(13, now);
+        });
+    }
+
+    /**
+     * A balance movement captured in memory: the totals before and right after the change.
+     */
+    public record Movement(LeaveBalance balance, LeaveBalanceLedger.Totals before, LeaveBalanceLedger.Totals after,
+                           BalanceMovementType type, String note) {
+
+        /**
+         * Captures the movement from {@code before} to the balance's current totals.
+         */
+        public static Movement of(LeaveBalance balance, LeaveBalanceLedger.Totals before,
+                                  BalanceMovementType type, String note) {
+            return new Movement(balance, before, LeaveBalanceLedger.Totals.of(balance), type, note);
+        }
+
+        public static Movement opening(LeaveBalance balance, String note) {
+            return of(balance, LeaveBalanceLedger.Totals.ZERO, BalanceMovementType.OPENING_BALANCE, note);
+        }
+
+        LeaveBalanceLedger.Totals delta() {
+            return after.minus(before);
+        }
+    }
+}
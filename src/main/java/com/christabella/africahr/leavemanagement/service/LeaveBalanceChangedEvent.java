@@ -0,0 +1,12 @@
+package com.christabella.africahr.leavemanagement.service;
+
+/**
+ * Published for every recorded balance movement so cached balance views can be dropped.
+ * A {@code null} userId means balances of every user changed, e.g. after a bulk job.
+ */
+public record LeaveBalanceChangedEvent(String userId, int year) {
+
+    public static LeaveBalanceChangedEvent allUsers(int year) {
+        return new LeaveBalanceChangedEvent(null, year);
+    }
+}
@@ -0,0 +1,174 @@
+package com.christabella.africahr.leavemanagement.service;
+
+import com.christabella.africahr.leavemanagement.dto.UserProfileDto;
+import com.christabella.africahr.leavemanagement.entity.LeaveBalance;
+import com.christabella.africahr.leavemanagement.entity.LeaveType;
+import com.christabella.africahr.leavemanagement.repository.LeaveTypeRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Opens the year's balances for every user that has none yet, as a background job.
+ * Leave types are loaded once, users that already have balances are filtered out with
+ * one query, emails are resolved in bulk, and the remaining users are split into
+ * partitions that insert their balances and opening ledger entries in JDBC batches,
+ * one transaction per chunk.
+ */
+@Service
+@Slf4j
+public class LeaveBalanceInitializationJob {
+
+    static final String JOB_TYPE = "init-balance-all";
+    private static final List<String> ROLES = List.of("STAFF", "MANAGER", "ADMIN");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final LeaveTypeRepository leaveTypeRepository;
+    private final UserServiceClient userServiceClient;
+    private final LeaveBalanceBatchWriter batchWriter;
+    private final JobRegistry jobRegistry;
+    private final AsyncTaskExecutor partitionExecutor;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int chunkSize;
+    private final int parallelism;
+
+    public LeaveBalanceInitializationJob(JdbcTemplate jdbcTemplate,
+                                         TransactionTemplate transactionTemplate,
+                                         LeaveTypeRepository leaveTypeRepository,
+                                         UserServiceClient userServiceClient,
+                                         LeaveBalanceBatchWriter batchWriter,
+                                         JobRegistry jobRegistry,
+                                         @Qualifier("balanceJobPartitionExecutor") AsyncTaskExecutor partitionExecutor,
+                                         ApplicationEventPublisher eventPublisher,
+                                         @Value("${leave.jobs.chunk-size:5000}") int chunkSize,
+                                         @Value("${leave.jobs.parallelism:4}") int parallelism) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.leaveTypeRepository = leaveTypeRepository;
+        this.userServiceClient = userServiceClient;
+        this.batchWriter = batchWriter;
+        this.jobRegistry = jobRegistry;
+        this.partitionExecutor = partitionExecutor;
+        this.eventPublisher = eventPublisher;
+        this.chunkSize = chunkSize;
+        this.parallelism = parallelism;
+    }
+
+    public JobRegistry.TrackedJob start(int year) {
+        return jobRegistry.submit(JOB_TYPE, job -> run(job, year));
+    }
+
+    private String run(JobRegistry.TrackedJob job, int year) {
+        Map<String, List<String>> usersByRole = userServiceClient.lookupAll(ROLES, userServiceClient::requireUsersByRole);
+        List<String> unresolved = ROLES.stream().filter(role -> !usersByRole.containsKey(role)).toList();
+        if (!unresolved.isEmpty()) {
+            // A partial user list would report success while silently skipping whole roles
+            throw new IllegalStateException("Could not list users with role(s) " + unresolved
+                    + " from the auth service; no balances were initialized");
+        }
+        Set<String> userIds = new LinkedHashSet<>();
+        usersByRole.values().forEach(userIds::addAll);
+
+        List<LeaveType> leaveTypes = leaveTypeRepository.findAll();
+        List<String> missing = usersWithoutBalances(userIds, year);
+        job.setTotal(missing.size());
+        log.info("Initializing {} leave balances for {} of {} users for year {}",
+                leaveTypes.size(), missing.size(), userIds.size(), year);
+        if (missing.isEmpty() || leaveTypes.isEmpty()) {
+            return "Leave balances initialized for 0 users";
+        }
+
+        Map<String, UserProfileDto> profiles = userServiceClient.getUserProfiles(missing);
+
+        // Chunks are sized in balance rows, so users per chunk shrink as leave types grow.
+        int usersPerChunk = Math.max(1, chunkSize / leaveTypes.size());
+        List<CompletableFuture<Void>> partitions = new ArrayList<>();
+        for (List<String> partition : partition(missing, parallelism)) {
+            partitions.add(CompletableFuture.runAsync(() -> {
+                for (int from = 0; from < partition.size(); from += usersPerChunk) {
+                    List<String> chunk = partition.subList(from, Math.min(from + usersPerChunk, partition.size()));
+                    try {
+                        transactionTemplate.executeWithoutResult(status -> insertChunk(chunk, leaveTypes, profiles, year));
+                        job.addProcessed(chunk.size());
+                    } catch (RuntimeException e) {
+                        job.addFailed(chunk.size());
+                        log.error("Failed to initialize leave balances for {} users starting at {}: {}",
+                                chunk.size(), chunk.get(0), e.getMessage(), e);
+                    }
+                }
+            }, partitionExecutor));
+        }
+        CompletableFuture.allOf(partitions.toArray(CompletableFuture[]::new)).join();
+        eventPublisher.publishEvent(LeaveBalanceChangedEvent.allUsers(year));
+
+        log.info("Completed initializing leave balances. Success: {}/{}", job.getProcessed(), missing.size());
+        return "Leave balances initialized for " + job.getProcessed() + " users";
+    }
+
+    /**
+     * The users among {@code userIds} without any balance for the year, in one round trip.
+     */
+    private List<String> usersWithoutBalances(Collection<String> userIds, int year) {
+        if (userIds.isEmpty()) {
+            return List.of();
+        }
+        String[] ids = userIds.toArray(String[]::new);
+        return jdbcTemplate.query(connection -> {
+            var statement = connection.prepareStatement("""
+                    SELECT u.user_id
+                    FROM unnest(?) AS u(user_id)
+                    WHERE NOT EXISTS (
+                        SELECT 1 FROM leave_balance b WHERE b.user_id = u.user_id AND b.year = ?)
+                    """);
+            statement.setArray(1, connection.createArrayOf("varchar", ids));
+            statement.setInt(2, year);
+            return statement;
+        }, (rs, i) -> rs.getString(1));
+    }
+
+    private void insertChunk(List<String> userIds, List<LeaveType> leaveTypes,
+                             Map<String, UserProfileDto> profiles, int year) {
+        List<LeaveBalance> balances = new ArrayList<>(userIds.size() * leaveTypes.size());
+        for (String userId : userIds) {
+            UserProfileDto profile = profiles.get(userId);
+            String email = profile != null ? profile.getEmail() : null;
+            for (LeaveType leaveType : leaveTypes) {
+                balances.add(LeaveBalance.builder()
+                        .userId(userId)
+                        .userEmail(email)
+                        .leaveType(leaveType)
+                        .defaultBalance(LeaveBalanceService.toDays(leaveType.getDefaultBalance()))
+                        .remainingLeave(LeaveBalanceService.toDays(leaveType.getDefaultBalance()))
+                        .year(year)
+                        .manuallyAdjusted(false)
+                        .build());
+            }
+        }
+        batchWriter.appendMovements(batchWriter.insert(balances).stream()
+                .map(balance -> LeaveBalanceBatchWriter.Movement.opening(balance, "Initial allocation"))
+                .toList());
+    }
+
+    private static List<List<String>> partition(List<String> userIds, int partitions) {
+        int size = Math.max(1, (userIds.size() + partitions - 1) / partitions);
+        List<List<String>> result = new ArrayList<>();
+        for (int from = 0; from < userIds.size(); from += size) {
+            result.add(userIds.subList(from, Math.min(from + size, userIds.size())));
+        }
+        return result;
+    }
+}
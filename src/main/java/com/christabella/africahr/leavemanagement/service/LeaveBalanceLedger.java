@@ -0,0 +1,143 @@
+package com.christabella.africahr.leavemanagement.service;
+
+import com.christabella.africahr.leavemanagement.dto.BalanceAuditDto;
+import com.christabella.africahr.leavemanagement.dto.LedgerEntryDto;
+import com.christabella.africahr.leavemanagement.entity.LeaveBalance;
+import com.christabella.africahr.leavemanagement.entity.LeaveBalanceMovement;
+import com.christabella.africahr.leavemanagement.enums.BalanceMovementType;
+import com.christabella.africahr.leavemanagement.repository.LeaveBalanceMovementRepository;
+import com.christabella.africahr.leavemanagement.repository.LeaveBalanceRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Append-only ledger of balance movements. Callers snapshot a balance's {@link Totals},
+ * change the balance, and {@link #record} the difference in the same transaction, so the
+ * running totals on {@link LeaveBalance} and the ledger can never drift apart.
+ */
+@Component
+@RequiredArgsConstructor
+public class LeaveBalanceLedger {
+
+    private final LeaveBalanceMovementRepository movementRepository;
+    private final LeaveBalanceRepository leaveBalanceRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public void record(LeaveBalance balance, Totals before, BalanceMovementType type, Long leaveRequestId, String note) {
+        Totals after = Totals.of(balance);
+        Totals delta = after.minus(before);
+        if (delta.isZero() && type != BalanceMovementType.OPENING_BALANCE) {
+            return;
+        }
+        movementRepository.save(LeaveBalanceMovement.builder()
+                .balanceId(balance.getId())
+                .userId(balance.getUserId())
+                .leaveTypeId(balance.getLeaveType().getId())
+                .year(balance.getYear())
+                .movementType(type)
+                .defaultDelta(delta.defaultBalance())
+                .carryOverDelta(delta.carryOver())
+                .usedDelta(delta.used())
+                .remainingDelta(delta.remaining())
+                .remainingAfter(after.remaining())
+                .leaveRequestId(leaveRequestId)
+                .note(note)
+                .createdAt(Instant.now())
+                .build());
+        eventPublisher.publishEvent(new LeaveBalanceChangedEvent(balance.getUserId(), balance.getYear()));
+    }
+
+    public void recordOpening(LeaveBalance balance, String note) {
+        record(balance, Totals.ZERO, BalanceMovementType.OPENING_BALANCE, null, note);
+    }
+
+    /**
+     * Replays every ledger entry of a user's balances for a year and compares the result
+     * with the stored running totals.
+     */
+    public List<BalanceAuditDto> audit(String userId, int year) {
+        Map<Long, List<LeaveBalanceMovement>> movementsByBalance = movementRepository
+                .findByUserIdAndYearOrderByIdAsc(userId, year)
+                .stream()
+                .collect(Collectors.groupingBy(LeaveBalanceMovement::getBalanceId));
+
+        return leaveBalanceRepository.findByUserIdAndYear(userId, year).stream()
+                .sorted(Comparator.comparing(LeaveBalance::getId))
+                .map(balance -> {
+                    List<LeaveBalanceMovement> movements = movementsByBalance.getOrDefault(balance.getId(), List.of());
+                    Totals replayed = movements.stream()
+                            .map(m -> new Totals(m.getDefaultDelta(), m.getCarryOverDelta(), m.getUsedDelta(), m.getRemainingDelta()))
+                            .reduce(Totals.ZERO, Totals::plus);
+                    Totals stored = Totals.of(balance);
+                    return BalanceAuditDto.builder()
+                            .leaveType(balance.getLeaveType().getName())
+                            .leaveTypeId(balance.getLeaveType().getId())
+                            .year(balance.getYear())
+                            .storedUsed(stored.used())
+                            .replayedUsed(replayed.used())
+                            .storedRemaining(stored.remaining())
+                            .replayedRemaining(replayed.remaining())
+                            .consistent(stored.minus(replayed).isZero())
+                            .entries(movements.stream().map(LeaveBalanceLedger::toDto).collect(Collectors.toList()))
+                            .build();
+                })
+                .collect(Collectors.toList());
+    }
+
+    private static LedgerEntryDto toDto(LeaveBalanceMovement movement) {
+        return LedgerEntryDto.builder()
+                .id(movement.getId())
+                .movementType(movement.getMovementType().name())
+                .defaultDelta(movement.getDefaultDelta())
+                .carryOverDelta(movement.getCarryOverDelta())
+                .usedDelta(movement.getUsedDelta())
+                .remainingDelta(movement.getRemainingDelta())
+                .remainingAfter(movement.getRemainingAfter())
+                .leaveRequestId(movement.getLeaveRequestId())
+                .note(movement.getNote())
+                .createdAt(movement.getCreatedAt())
+                .build();
+    }
+
+    /**
+     * The running totals of a balance, in hundredths of a day.
+     */
+    public record Totals(BigDecimal defaultBalance, BigDecimal carryOver, BigDecimal used, BigDecimal remaining) {
+
+        static final Totals ZERO = new Totals(BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO);
+
+        public static Totals of(LeaveBalance balance) {
+            return new Totals(
+                    orZero(balance.getDefaultBalance()),
+                    orZero(balance.getCarryOver()),
+                    orZero(balance.getUsedLeave()),
+                    orZero(balance.getRemainingLeave()));
+        }
+
+        Totals plus(Totals other) {
+            return new Totals(defaultBalance.add(other.defaultBalance), carryOver.add(other.carryOver),
+                    used.add(other.used), remaining.add(other.remaining));
+        }
+
+        Totals minus(Totals other) {
+            return new Totals(defaultBalance.subtract(other.defaultBalance), carryOver.subtract(other.carryOver),
+                    used.subtract(other.used), remaining.subtract(other.remaining));
+        }
+
+        boolean isZero() {
+            return defaultBalance.signum() == 0 && carryOver.signum() == 0 && used.signum() == 0 && remaining.signum() == 0;
+        }
+
+        private static BigDecimal orZero(BigDecimal value) {
+            return value != null ? value : BigDecimal.ZERO;
+        }
+    }
+}
@@ -0,0 +1,235 @@
+package com.christabella.africahr.leavemanagement.service;
+
+import com.christabella.africahr.leavemanagement.dto.LeaveBalanceDto;
+import com.christabella.africahr.leavemanagement.dto.LeaveDaysSerializer;
+import com.christabella.africahr.leavemanagement.entity.LeaveBalance;
+import com.christabella.africahr.leavemanagement.repository.LeaveBalanceRepository;
+import com.christabella.africahr.leavemanagement.repository.LeaveRequestRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Side-effect-free read path for the balance endpoints. Balances are read in a read-only
+ * transaction, never written back, and kept per user and year until a
+ * {@link LeaveBalanceChangedEvent} reports a movement for them. Each view carries an ETag
+ * derived from its content so unchanged balances can be answered with 304.
+ * <p>
+ * The cache is local to this instance and is only invalidated by events published in this
+ * JVM, which assumes a single-node deployment. With several nodes, a node keeps serving
+ * (and answering 304 for) a balance changed elsewhere until {@code leave.balance-cache.ttl}
+ * expires, so keep the TTL short or disable the cache ({@code max-size=0}) in that setup.
+ */
+@Service
+@Slf4j
+public class LeaveBalanceQueryService {
+
+    private static final String CACHE_NAME = "leaveBalances";
+
+    private final LeaveBalanceRepository leaveBalanceRepository;
+    private final LeaveRequestRepository leaveRequestRepository;
+    private final LeaveBalanceService leaveBalanceService;
+    private final BusinessDayCalendarService businessDayCalendarService;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Cache<Key, BalanceView> views;
+
+    public LeaveBalanceQueryService(LeaveBalanceRepository leaveBalanceRepository,
+                                    LeaveRequestRepository leaveRequestRepository,
+                                    LeaveBalanceService leaveBalanceService,
+                                    BusinessDayCalendarService businessDayCalendarService,
+                                    PlatformTransactionManager transactionManager,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${leave.balance-cache.max-size:10000}") long maxSize,
+                                    @Value("${leave.balance-cache.ttl:10m}") Duration ttl) {
+        this.leaveBalanceRepository = leaveBalanceRepository;
+        this.leaveRequestRepository = leaveRequestRepository;
+        this.leaveBalanceService = leaveBalanceService;
+        this.businessDayCalendarService = businessDayCalendarService;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.views = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, views, CACHE_NAME);
+    }
+
+    public BalanceView getBalances(String userId) {
+        Key key = new Key(userId, LocalDate.now().getYear());
+        BalanceView view = views.get(key, this::load);
+        if (view == null) {
+            // First visit of the year: allocate outside the cache loader, since the commit
+            // publishes balance events that invalidate this very key
+            log.info("No leave balances for user {} in {}, initializing", userId, key.year());
+            try {
+                leaveBalanceService.initializeLeaveBalanceForUser(userId, key.year());
+            } catch (DataIntegrityViolationException e) {
+                // Opened concurrently by another request or the initialization job
+                log.debug("Leave balances of user {} for {} were initialized concurrently", userId, key.year());
+            }
+            view = views.get(key, this::load);
+        }
+        return view != null ? view : new BalanceView(List.of(), etagOf(List.of()));
+    }
+
+    /**
+     * Balances of several users for a team screen. Cached users are served from the cache;
+     * the rest are read together with two queries, however many users and leave types there
+     * are. Users without balances this year get an empty list and are not initialized here.
+     */
+    public Map<String, List<LeaveBalanceDto>> getTeamBalances(Collection<String> userIds) {
+        int year = LocalDate.now().getYear();
+        Map<String, List<LeaveBalanceDto>> result = new LinkedHashMap<>();
+        Set<String> missing = new LinkedHashSet<>();
+        for (String userId : userIds) {
+            BalanceView cached = views.getIfPresent(new Key(userId, year));
+            if (cached != null) {
+                result.put(userId, cached.balances());
+            } else {
+                missing.add(userId);
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            Map<String, List<LeaveBalanceDto>> loaded = readBalances(missing, year);
+            for (String userId : missing) {
+                List<LeaveBalanceDto> balances = loaded.getOrDefault(userId, List.of());
+                if (!balances.isEmpty()) {
+                    views.put(new Key(userId, year), new BalanceView(List.copyOf(balances), etagOf(balances)));
+                }
+                result.put(userId, balances);
+            }
+        }
+        return result;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBalanceChanged(LeaveBalanceChangedEvent event) {
+        if (event.userId() == null) {
+            views.asMap().keySet().removeIf(key -> key.year() == event.year());
+        } else {
+            views.invalidate(new Key(event.userId(), event.year()));
+        }
+    }
+
+    /**
+     * Approved days and ETags are counted against the holiday calendar, so a holiday edit
+     * invalidates every cached view.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onHolidaysChanged(PublicHolidaysChangedEvent event) {
+        invalidateAll();
+    }
+
+    public void invalidateAll() {
+        views.invalidateAll();
+    }
+
+    /**
+     * Cache loader; returns {@code null}, which is not cached, while the user has no balances.
+     */
+    private BalanceView load(Key key) {
+        List<LeaveBalanceDto> balances = readBalances(key.userId(), key.year());
+        return balances.isEmpty() ? null : new BalanceView(List.copyOf(balances), etagOf(balances));
+    }
+
+    private List<LeaveBalanceDto> readBalances(String userId, int year) {
+        return readOnlyTransaction.execute(status -> {
+            Map<Long, Long> approvedDays = approvedDays(List.of(userId), year).getOrDefault(userId, Map.of());
+            return leaveBalanceRepository.findByUserIdAndYear(userId, year)
+                    .stream()
+                    .sorted(Comparator.comparing(LeaveBalance::getId))
+                    .map(balance -> toDto(balance, approvedDays))
+                    .collect(Collectors.toList());
+        });
+    }
+
+    private Map<String, List<LeaveBalanceDto>> readBalances(Collection<String> userIds, int year) {
+        return readOnlyTransaction.execute(status -> {
+            Map<String, Map<Long, Long>> approvedDays = approvedDays(userIds, year);
+            return leaveBalanceRepository.findByUserIdInAndYear(userIds, year)
+                    .stream()
+                    .sorted(Comparator.comparing(LeaveBalance::getId))
+                    .collect(Collectors.groupingBy(LeaveBalance::getUserId, Collectors.mapping(
+                            balance -> toDto(balance, approvedDays.getOrDefault(balance.getUserId(), Map.of())),
+                            Collectors.toList())));
+        });
+    }
+
+    /**
+     * Approved business days per user and leave type, aggregated in the database.
+     */
+    private Map<String, Map<Long, Long>> approvedDays(Collection<String> userIds, int year) {
+        Map<String, Map<Long, Long>> days = new HashMap<>();
+        leaveRequestRepository.sumApprovedBusinessDays(userIds, LocalDate.of(year, 1, 1), LocalDate.of(year, 12, 31),
+                        businessDayCalendarService.getDefaultCountry())
+                .forEach(row -> days.computeIfAbsent(row.getUserId(), id -> new HashMap<>())
+                        .put(row.getLeaveTypeId(), row.getDays()));
+        return days;
+    }
+
+    private static LeaveBalanceDto toDto(LeaveBalance balance, Map<Long, Long> approvedDays) {
+        return LeaveBalanceDto.builder()
+                .leaveType(balance.getLeaveType().getName())
+                .leaveTypeId(balance.getLeaveType().getId())
+                .defaultBalance(balance.getDefaultBalance().doubleValue())
+                .usedLeave(balance.getUsedLeave().intValue())
+                .approvedDays(approvedDays.getOrDefault(balance.getLeaveType().getId(), 0L))
+                .remainingLeave(LeaveDaysSerializer.format(balance.getRemainingLeave()))
+                .carryOver(balance.getCarryOver().doubleValue())
+                .year(balance.getYear())
+                .build();
+    }
+
+    private static String etagOf(List<LeaveBalanceDto> balances) {
+        StringBuilder canonical = new StringBuilder();
+        for (LeaveBalanceDto balance : balances) {
+            canonical.append(balance.getLeaveTypeId()).append('|')
+                    .append(balance.getLeaveType()).append('|')
+                    .append(balance.getDefaultBalance()).append('|')
+                    .append(balance.getUsedLeave()).append('|')
+                    .append(balance.getApprovedDays()).append('|')
+                    .append(balance.getRemainingLeave()).append('|')
+                    .append(balance.getCarryOver()).append('|')
+                    .append(balance.getYear()).append('\n');
+        }
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(canonical.toString().getBytes(StandardCharsets.UTF_8));
+            return "\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(digest).substring(0, 22) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    public record BalanceView(List<LeaveBalanceDto> balances, String etag) {
+    }
+
+    private record Key(String userId, int year) {
+    }
+}
@@ -0,0 +1,257 @@
+package com.christabella.africahr.leavemanagement.service;
+
+import com.christabella.africahr.leavemanagement.dto.BalanceDriftDto;
+import com.christabella.africahr.leavemanagement.dto.ReconciliationReportDto;
+import com.christabella.africahr.leavemanagement.repository.LeaveRequestRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Compares each balance's stored used days with the business days of the user's approved
+ * requests for the year, and optionally corrects them. Expected days are aggregated in
+ * the database by one grouped scan per partition of users (by hash of the user id), and
+ * the diff with {@code leave_balance} is computed in the same statement, so only drifted
+ * rows are streamed back. Manually adjusted balances are reported but never corrected.
+ */
+@Service
+@Slf4j
+public class LeaveBalanceReconciliationJob {
+
+    static final String JOB_TYPE = "balance-reconciliation";
+    private static final int FETCH_SIZE = 1_000;
+
+    /**
+     * Balances of one partition whose stored used days differ from their approved business
+     * days, and approved days with no balance to hold them.
+     */
+    private static final String DRIFT_SQL = """
+            WITH expected AS (
+                SELECT r.user_id, r.leave_type_id, COUNT(*) AS days
+            """ + LeaveRequestRepository.APPROVED_BUSINESS_DAYS + """
+                  AND (hashtext(r.user_id) & 2147483647) % :partitions = :partition
+                GROUP BY r.user_id, r.leave_type_id
+            ), stored AS (
+                SELECT id, user_id, leave_type_id, used_leave, manually_adjusted
+                FROM leave_balance
+                WHERE year = :year AND (hashtext(user_id) & 2147483647) % :partitions = :partition
+            )
+            SELECT s.id, COALESCE(s.user_id, e.user_id) AS user_id,
+                   COALESCE(s.leave_type_id, e.leave_type_id) AS leave_type_id,
+                   COALESCE(s.used_leave, 0) AS stored_used, COALESCE(e.days, 0) AS expected_used,
+                   COALESCE(s.manually_adjusted, FALSE) AS manually_adjusted
+            FROM stored s
+            FULL JOIN expected e ON e.user_id = s.user_id AND e.leave_type_id = s.leave_type_id
+            WHERE s.id IS NULL OR s.used_leave <> COALESCE(e.days, 0)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate streamingJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final BusinessDayCalendarService businessDayCalendarService;
+    private final JobRegistry jobRegistry;
+    private final AsyncTaskExecutor partitionExecutor;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int chunkSize;
+    private final int parallelism;
+    private final int reportLimit;
+
+    public LeaveBalanceReconciliationJob(JdbcTemplate jdbcTemplate,
+                                         PlatformTransactionManager transactionManager,
+                                         BusinessDayCalendarService businessDayCalendarService,
+                                         JobRegistry jobRegistry,
+                                         @Qualifier("balanceJobPartitionExecutor") AsyncTaskExecutor partitionExecutor,
+                                         ApplicationEventPublisher eventPublisher,
+                                         @Value("${leave.jobs.chunk-size:5000}") int chunkSize,
+                                         @Value("${leave.jobs.parallelism:4}") int parallelism,
+                                         @Value("${leave.reconciliation.report-limit:1000}") int reportLimit) {
+        this.jdbcTemplate = jdbcTemplate;
+        JdbcTemplate streaming = new JdbcTemplate(jdbcTemplate.getDataSource());
+        streaming.setFetchSize(FETCH_SIZE);
+        this.streamingJdbcTemplate = new NamedParameterJdbcTemplate(streaming);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.businessDayCalendarService = businessDayCalendarService;
+        this.jobRegistry = jobRegistry;
+        this.partitionExecutor = partitionExecutor;
+        this.eventPublisher = eventPublisher;
+        this.chunkSize = chunkSize;
+        this.parallelism = parallelism;
+        this.reportLimit = reportLimit;
+    }
+
+    public JobRegistry.TrackedJob start(int year, boolean apply) {
+        return jobRegistry.submit(JOB_TYPE, job -> run(job, year, apply));
+    }
+
+    private String run(JobRegistry.TrackedJob job, int year, boolean apply) {
+        Report report = new Report(reportLimit);
+        job.setTotal(parallelism);
+        log.info("Reconciling leave balances for {} in {} partitions (apply={})", year, parallelism, apply);
+
+        List<CompletableFuture<Void>> partitions = new ArrayList<>();
+        for (int partition = 0; partition < parallelism; partition++) {
+            int current = partition;
+            partitions.add(CompletableFuture.runAsync(() -> {
+                try {
+                    reconcilePartition(current, year, apply, report);
+                    job.addProcessed(1);
+                } catch (RuntimeException e) {
+                    job.addFailed(1);
+                    log.error("Reconciliation partition {} for {} failed: {}", current, year, e.getMessage(), e);
+                }
+            }, partitionExecutor));
+        }
+        CompletableFuture.allOf(partitions.toArray(CompletableFuture[]::new)).join();
+        if (report.applied.get() > 0) {
+            eventPublisher.publishEvent(LeaveBalanceChangedEvent.allUsers(year));
+        }
+
+        job.setResult(report.toDto(year, apply));
+        log.info("Reconciliation for {} completed: {} drifted, {} missing balances, {} manually adjusted, {} applied",
+                year, report.drifted.get(), report.missingBalances.get(), report.manuallyAdjusted.get(),
+                report.applied.get());
+        return report.drifted.get() + " drifted balances found, " + report.applied.get() + " corrected";
+    }
+
+    private void reconcilePartition(int partition, int year, boolean apply, Report report) {
+        List<Fix> fixes = new ArrayList<>();
+        String defaultCountry = businessDayCalendarService.getDefaultCountry();
+
+        MapSqlParameterSource parameters = new MapSqlParameterSource()
+                .addValue("from", LocalDate.of(year, 1, 1))
+                .addValue("to", LocalDate.of(year, 12, 31))
+                .addValue("defaultCountry", defaultCountry)
+                .addValue("year", year)
+                .addValue("partitions", parallelism)
+                .addValue("partition", partition);
+
+        readOnlyTransaction.executeWithoutResult(status -> streamingJdbcTemplate.query(DRIFT_SQL, parameters, rs -> {
+            long balanceId = rs.getLong("id");
+            BalanceDriftDto drift = BalanceDriftDto.builder()
+                    .balanceId(rs.wasNull() ? null : balanceId)
+                    .userId(rs.getString("user_id"))
+                    .leaveTypeId(rs.getLong("leave_type_id"))
+                    .year(year)
+                    .storedUsed(rs.getBigDecimal("stored_used"))
+                    .expectedUsed(rs.getLong("expected_used"))
+                    .manuallyAdjusted(rs.getBoolean("manually_adjusted"))
+                    .build();
+            report.add(drift);
+            if (apply && drift.getBalanceId() != null && !drift.isManuallyAdjusted()) {
+                fixes.add(new Fix(drift.getBalanceId(), drift.getStoredUsed(), drift.getExpectedUsed()));
+            }
+        }));
+
+        for (int from = 0; from < fixes.size(); from += chunkSize) {
+            List<Fix> chunk = fixes.subList(from, Math.min(from + chunkSize, fixes.size()));
+            Integer applied = transactionTemplate.execute(status -> applyFixes(chunk));
+            report.applied.addAndGet(applied != null ? applied : 0);
+        }
+    }
+
+    /**
+     * Sets used days to the expected value and moves remaining days by the same amount,
+     * recording a RECONCILIATION ledger entry. A balance whose used days changed since it
+     * was scanned is left alone and picked up by the next run.
+     */
+    private int applyFixes(List<Fix> fixes) {
+        Long[] ids = fixes.stream().map(Fix::balanceId).toArray(Long[]::new);
+        BigDecimal[] observed = fixes.stream().map(Fix::storedUsed).toArray(BigDecimal[]::new);
+        BigDecimal[] expected = fixes.stream().map(fix -> BigDecimal.valueOf(fix.expectedUsed())).toArray(BigDecimal[]::new);
+        return jdbcTemplate.query(connection -> {
+            var statement = connection.prepareStatement("""
+                    WITH fix AS (
+                        SELECT * FROM unnest(?, ?, ?) AS f(id, observed_used, expected_used)
+                    ), updated AS (
+                        UPDATE leave_balance b
+                        SET used_leave = f.expected_used,
+                            remaining_days = b.remaining_days - (f.expected_used - f.observed_used)
+                        FROM fix f
+                        WHERE b.id = f.id AND b.used_leave = f.observed_used AND NOT b.manually_adjusted
+                        RETURNING b.id, b.user_id, b.leave_type_id, b.year, b.remaining_days,
+                                  f.expected_used - f.observed_used AS delta
+                    ), ledger AS (
+                        INSERT INTO leave_balance_ledger (balance_id, user_id, leave_type_id, year, movement_type,
+                                default_delta, carry_over_delta, used_delta, remaining_delta, remaining_after,
+                                note, created_at)
+                        SELECT id, user_id, leave_type_id, year, 'RECONCILIATION', 0, 0, delta, -delta,
+                               remaining_days, 'Reconciled with approved requests', now()
+                        FROM updated
+                    )
+                    SELECT COUNT(*) FROM updated
+                    """);
+            statement.setArray(1, connection.createArrayOf("bigint", ids));
+            statement.setArray(2, connection.createArrayOf("numeric", observed));
+            statement.setArray(3, connection.createArrayOf("numeric", expected));
+            return statement;
+        }, rs -> {
+            rs.next();
+            return rs.getInt(1);
+        });
+    }
+
+    private record Fix(long balanceId, BigDecimal storedUsed, long expectedUsed) {
+    }
+
+    /**
+     * Counters and the capped list of entries, shared by all partitions.
+     */
+    private static final class Report {
+
+        private final int limit;
+        private final List<BalanceDriftDto> entries = Collections.synchronizedList(new ArrayList<>());
+        private final AtomicLong drifted = new AtomicLong();
+        private final AtomicLong missingBalances = new AtomicLong();
+        private final AtomicLong manuallyAdjusted = new AtomicLong();
+        private final AtomicLong applied = new AtomicLong();
+
+        Report(int limit) {
+            this.limit = limit;
+        }
+
+        void add(BalanceDriftDto drift) {
+            drifted.incrementAndGet();
+            if (drift.getBalanceId() == null) {
+                missingBalances.incrementAndGet();
+            } else if (drift.isManuallyAdjusted()) {
+                manuallyAdjusted.incrementAndGet();
+            }
+            synchronized (entries) {
+                if (entries.size() < limit) {
+                    entries.add(drift);
+                }
+            }
+        }
+
+        ReconciliationReportDto toDto(int year, boolean apply) {
+            return ReconciliationReportDto.builder()
+                    .year(year)
+                    .apply(apply)
+                    .drifted(drifted.get())
+                    .missingBalances(missingBalances.get())
+                    .manuallyAdjusted(manuallyAdjusted.get())
+                    .applied(applied.get())
+                    .entries(List.copyOf(entries))
+                    .build();
+        }
+    }
+}
@@ -1,27 +1,26 @@
 package com.christabella.africahr.leavemanagement.service;
 
-import com.christabella.africahr.leavemanagement.dto.LeaveBalanceDto;
+import com.christabella.africahr.leavemanagement.dto.BalanceAuditDto;
 import com.christabella.africahr.leavemanagement.entity.LeaveBalance;
 import com.christabella.africahr.leavemanagement.entity.LeaveType;
-import com.christabella.africahr.leavemanagement.enums.LeaveStatus;
+import com.christabella.africahr.leavemanagement.enums.BalanceMovementType;
+import com.christabella.africahr.leavemanagement.exception.LeaveBalanceExceededException;
 import com.christabella.africahr.leavemanagement.exception.ResourceNotFoundException;
 import com.christabella.africahr.leavemanagement.repository.LeaveBalanceRepository;
-import com.christabella.africahr.leavemanagement.repository.LeaveRequestRepository;
 import com.christabella.africahr.leavemanagement.repository.LeaveTypeRepository;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 
+import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.time.LocalDate;
-import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
-import java.util.HashSet;
-import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
@@ -30,163 +29,9 @@ public class LeaveBalanceService {
 
     private final LeaveBalanceRepository leaveBalanceRepository;
     private final LeaveTypeRepository leaveTypeRepository;
-    private final LeaveRequestRepository leaveRequestRepository;
     private final UserServiceClient userServiceClient;
-
-    @Scheduled(cron = "0 0 0 1 * *", zone = "Africa/Kigali")
-    @Transactional
-    public void accrueMonthlyLeave() {
-        int currentYear = LocalDate.now().getYear();
-        log.info("Running monthly leave accrual for year: {}", currentYear);
-
-        List<LeaveBalance> balances = leaveBalanceRepository.findAll();
-
-        for (LeaveBalance balance : balances) {
-
-            if (balance.getYear() != currentYear) {
-                continue;
-            }
-
-            if (balance.getLeaveType().getName().toLowerCase().contains("personal") ||
-                    balance.getLeaveType().getName().toLowerCase().contains("pto") ||
-                    balance.getLeaveType().getName().toLowerCase().contains("annual")) {
-
-                double remaining = Double.parseDouble(balance.getRemainingLeave());
-
-                double newBalance = remaining + 1.66;
-
-                double maxAllocation = balance.getLeaveType().getDefaultBalance();
-                if (newBalance > maxAllocation) {
-                    newBalance = maxAllocation;
-                }
-
-                balance.setRemainingLeave(
-                        newBalance % 1 == 0 ? String.format("%.0f", newBalance) : String.format("%.1f", newBalance));
-                log.info("Accrued monthly leave for user: {}, new balance: {}, leave type: {}",
-                        balance.getUserId(), newBalance, balance.getLeaveType().getName());
-            }
-        }
-
-        leaveBalanceRepository.saveAll(balances);
-        log.info("Monthly leave accrual completed for year {}", currentYear);
-    }
-
-    @Scheduled(cron = "0 0 1 1 1 *", zone = "Africa/Kigali")
-    @Transactional
-    public void carryOverLogic() {
-        int previousYear = LocalDate.now().getYear() - 1;
-        int currentYear = LocalDate.now().getYear();
-
-        List<LeaveBalance> previousYearBalances = leaveBalanceRepository.findByYear(previousYear);
-
-        for (LeaveBalance prevBalance : previousYearBalances) {
-
-            if (prevBalance.getLeaveType().getName().toLowerCase().contains("personal") ||
-                    prevBalance.getLeaveType().getName().toLowerCase().contains("pto") ||
-                    prevBalance.getLeaveType().getName().toLowerCase().contains("annual")) {
-
-                double remainingBalance = Double.parseDouble(prevBalance.getRemainingLeave());
-
-                double carryOver = Math.min(remainingBalance, 5.0);
-
-                LeaveBalance currentYearBalance = leaveBalanceRepository
-                        .findByUserIdAndLeaveType_IdAndYear(prevBalance.getUserId(),
-                                prevBalance.getLeaveType().getId(),
-                                currentYear)
-                        .orElse(null);
-
-                if (currentYearBalance == null) {
-
-                    currentYearBalance = LeaveBalance.builder()
-                            .userId(prevBalance.getUserId())
-                            .userEmail(prevBalance.getUserEmail())
-                            .leaveType(prevBalance.getLeaveType())
-                            .defaultBalance(prevBalance.getLeaveType().getDefaultBalance())
-                            .carryOver(carryOver)
-                            .usedLeave(0.0)
-                            .remainingLeave((prevBalance.getLeaveType().getDefaultBalance() + carryOver) % 1 == 0
-                                    ? String.format("%.0f", prevBalance.getLeaveType().getDefaultBalance() + carryOver)
-                                    : String.format("%.1f", prevBalance.getLeaveType().getDefaultBalance() + carryOver))
-                            .year(currentYear)
-                            .build();
-                } else {
-
-                    currentYearBalance.setCarryOver(carryOver);
-                    double newRemaining = prevBalance.getLeaveType().getDefaultBalance() + carryOver
-                            - currentYearBalance.getUsedLeave();
-                    currentYearBalance.setRemainingLeave(newRemaining % 1 == 0 ? String.format("%.0f", newRemaining)
-                            : String.format("%.1f", newRemaining));
-                }
-
-                leaveBalanceRepository.save(currentYearBalance);
-            }
-        }
-    }
-
-    @Transactional
-    public List<LeaveBalanceDto> getBalancesByUserId(String userId) {
-        int currentYear = LocalDate.now().getYear();
-
-        List<LeaveBalance> existingBalances = leaveBalanceRepository.findByUserIdAndYear(userId, currentYear);
-
-        if (existingBalances.isEmpty()) {
-            initializeLeaveBalanceForUser(userId, currentYear);
-            existingBalances = leaveBalanceRepository.findByUserIdAndYear(userId, currentYear);
-        }
-
-        String userEmail;
-        try {
-            userEmail = userServiceClient.getUserEmail(userId);
-        } catch (Exception e) {
-            log.warn("Failed to fetch email, using cached value in DB");
-            userEmail = existingBalances.isEmpty() ? "unknown@example.com" : existingBalances.get(0).getUserEmail();
-        }
-
-        for (LeaveBalance balance : existingBalances) {
-            balance.setUserEmail(userEmail);
-
-            LeaveType leaveType = balance.getLeaveType();
-
-            double calculatedUsedDays = leaveRequestRepository
-                    .findByUserIdAndLeaveTypeAndStatusAndStartDateBetween(
-                            userId,
-                            leaveType,
-                            LeaveStatus.APPROVED,
-                            LocalDate.of(currentYear, 1, 1),
-                            LocalDate.of(currentYear, 12, 31))
-                    .stream()
-                    .mapToLong(req -> ChronoUnit.DAYS.between(req.getStartDate(), req.getEndDate()) + 1)
-                    .sum();
-
-            if (balance.isManuallyAdjusted()) {
-                log.info("Using manually adjusted value for {}: {} instead of calculated: {}",
-                        balance.getLeaveType().getName(), balance.getUsedLeave(), calculatedUsedDays);
-
-                    } else {
-
-                balance.setUsedLeave(calculatedUsedDays);
-            }
-
-
-            double remaining = balance.getDefaultBalance() + balance.getCarryOver() - balance.getUsedLeave();
-            balance.setRemainingLeave(
-                    remaining % 1 == 0 ? String.format("%.0f", remaining) : String.format("%.1f", remaining));
-
-            leaveBalanceRepository.save(balance);
-        }
-
-        return existingBalances.stream()
-                .map(balance -> LeaveBalanceDto.builder()
-                        .leaveType(balance.getLeaveType().getName())
-                        .leaveTypeId(balance.getLeaveType().getId())
-                        .defaultBalance(balance.getDefaultBalance())
-                        .usedLeave((int) balance.getUsedLeave())
-                        .remainingLeave(balance.getRemainingLeave())
-                        .carryOver(balance.getCarryOver())
-                        .year(balance.getYear())
-                        .build())
-                .collect(Collectors.toList());
-    }
+    private final LeaveBalanceLedger leaveBalanceLedger;
+    private final JdbcTemplate jdbcTemplate;
 
     @Transactional
     public void initializeLeaveBalanceForUser(String userId) {
@@ -221,23 +66,23 @@ public class LeaveBalanceService {
 
         List<LeaveBalance> balances = leaveTypes.stream()
                 .map(leaveType -> {
-                    double defaultBalance = leaveType.getDefaultBalance();
+                    BigDecimal defaultBalance = toDays(leaveType.getDefaultBalance());
                     return LeaveBalance.builder()
                             .userId(finalUserId)
                             .userEmail(email)
                             .leaveType(leaveType)
                             .defaultBalance(defaultBalance)
-                            .carryOver(0.0)
-                            .usedLeave(0.0)
-                            .remainingLeave(defaultBalance % 1 == 0 ? String.format("%.0f", defaultBalance)
-                                    : String.format("%.1f", defaultBalance))
+                            .carryOver(BigDecimal.ZERO)
+                            .usedLeave(BigDecimal.ZERO)
+                            .remainingLeave(defaultBalance)
                             .year(year)
                             .manuallyAdjusted(false)
                             .build();
                 })
                 .collect(Collectors.toList());
 
-        leaveBalanceRepository.saveAll(balances);
+        leaveBalanceRepository.saveAll(balances)
+                .forEach(balance -> leaveBalanceLedger.recordOpening(balance, "Initial allocation"));
     }
 
     @Transactional
@@ -248,95 +93,111 @@ public class LeaveBalanceService {
                 .findByUserIdAndLeaveType_IdAndYear(userId, leaveTypeId, currentYear)
                 .orElseThrow(() -> new ResourceNotFoundException("Leave balance not found for current year"));
 
-        balance.setDefaultBalance(newBalance);
+        LeaveBalanceLedger.Totals before = LeaveBalanceLedger.Totals.of(balance);
+        balance.setDefaultBalance(toDays(newBalance));
         balance.setManuallyAdjusted(true);
+        balance.setRemainingLeave(remainingOf(balance));
 
-        double remaining = newBalance + balance.getCarryOver() - balance.getUsedLeave();
-        balance.setRemainingLeave(
-                remaining % 1 == 0 ? String.format("%.0f", remaining) : String.format("%.1f", remaining));
-
-        return leaveBalanceRepository.save(balance);
+        LeaveBalance updated = leaveBalanceRepository.save(balance);
+        leaveBalanceLedger.record(updated, before, BalanceMovementType.MANUAL_ADJUSTMENT, null,
+                "Default balance set to " + updated.getDefaultBalance());
+        return updated;
     }
 
     @Transactional
-    public void updateBalanceForApprovedLeave(String userId, Long leaveTypeId, long days) {
-        try {
-            int currentYear = LocalDate.now().getYear();
-            log.info("BALANCE UPDATE START: userId={}, leaveTypeId={}, days={}, year={}",
-                    userId, leaveTypeId, days, currentYear);
-
-            LeaveBalance balance = leaveBalanceRepository
-                    .findByUserIdAndLeaveType_IdAndYear(userId, leaveTypeId, currentYear)
-                    .orElseThrow(() -> new ResourceNotFoundException("Leave balance not found for current year"));
-
-            log.info("FOUND BALANCE: id={}, defaultBalance={}, carryOver={}, used={}, remaining={}",
-                    balance.getId(), balance.getDefaultBalance(), balance.getCarryOver(),
-                    balance.getUsedLeave(), balance.getRemainingLeave());
-
-            double currentUsed = balance.getUsedLeave();
-            double newUsed = currentUsed + days;
-            balance.setUsedLeave(newUsed);
-
-            double remaining = balance.getDefaultBalance() + balance.getCarryOver() - newUsed;
-            balance.setRemainingLeave(
-                    remaining % 1 == 0 ? String.format("%.0f", remaining) : String.format("%.1f", remaining));
-
-            LeaveBalance updated = leaveBalanceRepository.save(balance);
-            log.info("BALANCE UPDATED: id={}, remaining={}, used={}",
-                    updated.getId(), updated.getRemainingLeave(), updated.getUsedLeave());
-        } catch (Exception e) {
-            log.error("ERROR updating balance: {}", e.getMessage(), e);
-            throw e;
-        }
+    public LeaveBalance updateBalanceForApprovedLeave(String userId, Long leaveTypeId, long days) {
+        return updateBalanceForApprovedLeave(userId, leaveTypeId, days, null);
     }
 
-
+    /**
+     * Deducts approved days with a single guarded update that only applies while the
+     * remaining balance covers them, and returns the updated balance from the same
+     * statement. Concurrent approvals for one balance are serialized by the row lock, so
+     * the second one re-checks against the first one's result instead of a stale read.
+     *
+     * @throws LeaveBalanceExceededException if the remaining balance does not cover {@code days}
+     */
     @Transactional
-public LeaveBalance adjustCarryOver(String userId, Long leaveTypeId, Double carryOver) {
-    int currentYear = LocalDate.now().getYear();
-
-    LeaveBalance balance = leaveBalanceRepository
-            .findByUserIdAndLeaveType_IdAndYear(userId, leaveTypeId, currentYear)
-            .orElseThrow(() -> new ResourceNotFoundException("Leave balance not found"));
-
-    balance.setCarryOver(carryOver != null ? carryOver : 0.0);
-    balance.setManuallyAdjusted(true);
+    public LeaveBalance updateBalanceForApprovedLeave(String userId, Long leaveTypeId, long days, Long leaveRequestId) {
+        int currentYear = LocalDate.now().getYear();
+        BigDecimal amount = BigDecimal.valueOf(days).setScale(LeaveBalance.DAYS_SCALE);
+        log.info("BALANCE UPDATE START: userId={}, leaveTypeId={}, days={}, year={}",
+                userId, leaveTypeId, days, currentYear);
 
-    double remaining = balance.getDefaultBalance() + balance.getCarryOver() - balance.getUsedLeave();
-    String newRemainingValue = remaining % 1 == 0 ? String.format("%.0f", remaining)
-            : String.format("%.1f", remaining);
-    balance.setRemainingLeave(newRemainingValue);
+        Optional<LeaveBalance> deducted = deductIfAvailable(userId, leaveTypeId, currentYear, amount);
+        if (deducted.isEmpty()) {
+            LeaveBalance current = leaveBalanceRepository
+                    .findByUserIdAndLeaveType_IdAndYear(userId, leaveTypeId, currentYear)
+                    .orElse(null);
+            if (current == null) {
+                initializeLeaveBalanceForUser(userId, currentYear);
+                leaveBalanceRepository.flush();
+                deducted = deductIfAvailable(userId, leaveTypeId, currentYear, amount);
+                current = leaveBalanceRepository
+                        .findByUserIdAndLeaveType_IdAndYear(userId, leaveTypeId, currentYear)
+                        .orElseThrow(() -> new ResourceNotFoundException("Leave balance not found for current year"));
+            }
+            if (deducted.isEmpty()) {
+                throw new LeaveBalanceExceededException(String.format(
+                        "Insufficient leave balance. User has %.1f days available but requested %d business days.",
+                        current.getRemainingLeave(), days));
+            }
+        }
 
-    LeaveBalance updated = leaveBalanceRepository.saveAndFlush(balance);
+        LeaveBalance updated = deducted.get();
+        LeaveBalanceLedger.Totals after = LeaveBalanceLedger.Totals.of(updated);
+        LeaveBalanceLedger.Totals before = new LeaveBalanceLedger.Totals(after.defaultBalance(), after.carryOver(),
+                after.used().subtract(amount), after.remaining().add(amount));
+        leaveBalanceLedger.record(updated, before, BalanceMovementType.APPROVAL, leaveRequestId,
+                "Approved " + days + " business day(s)");
+        log.info("BALANCE UPDATED: id={}, remaining={}, used={}",
+                updated.getId(), updated.getRemainingLeave(), updated.getUsedLeave());
+        return updated;
+    }
 
-    leaveBalanceRepository.flush();
+    private Optional<LeaveBalance> deductIfAvailable(String userId, Long leaveTypeId, int year, BigDecimal days) {
+        List<LeaveBalance> updated = jdbcTemplate.query("""
+                UPDATE leave_balance
+                SET used_leave = used_leave + ?, remaining_days = remaining_days - ?
+                WHERE id = (SELECT id FROM leave_balance
+                            WHERE user_id = ? AND leave_type_id = ? AND year = ?
+                            ORDER BY id LIMIT 1)
+                  AND remaining_days >= ?
+                RETURNING id, user_email, default_balance, used_leave, remaining_days, carry_over, manually_adjusted
+                """, (rs, i) -> LeaveBalance.builder()
+                        .id(rs.getLong("id"))
+                        .userId(userId)
+                        .userEmail(rs.getString("user_email"))
+                        .leaveType(leaveTypeRepository.getReferenceById(leaveTypeId))
+                        .defaultBalance(rs.getBigDecimal("default_balance"))
+                        .usedLeave(rs.getBigDecimal("used_leave"))
+                        .remainingLeave(rs.getBigDecimal("remaining_days"))
+                        .carryOver(rs.getBigDecimal("carry_over"))
+                        .year(year)
+                        .manuallyAdjusted(rs.getBoolean("manually_adjusted"))
+                        .build(),
+                days, days, userId, leaveTypeId, year, days);
+        return updated.stream().findFirst();
+    }
 
-    return updated;
-}
     @Transactional
-    public int initializeAllLeaveBalances() {
+    public LeaveBalance adjustCarryOver(String userId, Long leaveTypeId, Double carryOver) {
         int currentYear = LocalDate.now().getYear();
 
-        List<String> userIds = new ArrayList<>();
-        userIds.addAll(userServiceClient.getUsersByRole("STAFF"));
-        userIds.addAll(userServiceClient.getUsersByRole("MANAGER"));
-        userIds.addAll(userServiceClient.getUsersByRole("ADMIN"));
+        LeaveBalance balance = leaveBalanceRepository
+                .findByUserIdAndLeaveType_IdAndYear(userId, leaveTypeId, currentYear)
+                .orElseThrow(() -> new ResourceNotFoundException("Leave balance not found"));
 
-        Set<String> uniqueUserIds = new HashSet<>(userIds);
-        log.info("Initializing leave balances for {} users for year {}", uniqueUserIds.size(), currentYear);
+        LeaveBalanceLedger.Totals before = LeaveBalanceLedger.Totals.of(balance);
+        balance.setCarryOver(carryOver != null ? toDays(carryOver) : BigDecimal.ZERO);
+        balance.setManuallyAdjusted(true);
+        balance.setRemainingLeave(remainingOf(balance));
 
-        int successCount = 0;
-        for (String userId : uniqueUserIds) {
-            try {
-                initializeLeaveBalanceForUser(userId, currentYear);
-                successCount++;
-            } catch (Exception e) {
-                log.error("Failed to initialize leave balance for user {}: {}", userId, e.getMessage());
-            }
-        }
+        LeaveBalance updated = leaveBalanceRepository.saveAndFlush(balance);
+        leaveBalanceLedger.record(updated, before, BalanceMovementType.MANUAL_ADJUSTMENT, null,
+                "Carry-over set to " + updated.getCarryOver());
 
-        log.info("Completed initializing leave balances. Success: {}/{}", successCount, uniqueUserIds.size());
-        return successCount;
+        return updated;
     }
 
     @Transactional
@@ -354,17 +215,16 @@ public LeaveBalance adjustCarryOver(String userId, Long leaveTypeId, Double carr
                 balance.getId(), balance.getLeaveType().getName(),
                 balance.getUsedLeave(), usedDays, balance.getRemainingLeave());
 
-        double usedDaysValue = (usedDays != null) ? usedDays : 0.0;
+        LeaveBalanceLedger.Totals before = LeaveBalanceLedger.Totals.of(balance);
+        BigDecimal usedDaysValue = (usedDays != null) ? toDays(usedDays) : BigDecimal.ZERO;
 
         balance.setUsedLeave(usedDaysValue);
         balance.setManuallyAdjusted(true);
-
-        double remaining = balance.getDefaultBalance() + balance.getCarryOver() - usedDaysValue;
-        String newRemainingValue = remaining % 1 == 0 ? String.format("%.0f", remaining)
-                : String.format("%.1f", remaining);
-        balance.setRemainingLeave(newRemainingValue);
+        balance.setRemainingLeave(remainingOf(balance));
 
         LeaveBalance updated = leaveBalanceRepository.saveAndFlush(balance);
+        leaveBalanceLedger.record(updated, before, BalanceMovementType.MANUAL_ADJUSTMENT, null,
+                "Used days set to " + usedDaysValue);
 
         leaveBalanceRepository.flush();
 
@@ -375,6 +235,25 @@ public LeaveBalance adjustCarryOver(String userId, Long leaveTypeId, Double carr
         return updated;
     }
 
+    /**
+     * Leave days as stored in {@code remaining_days}: a fixed-point value in hundredths of a day.
+     */
+    static BigDecimal toDays(double days) {
+        return BigDecimal.valueOf(days).setScale(LeaveBalance.DAYS_SCALE, RoundingMode.HALF_UP);
+    }
+
+    /**
+     * Default balance plus carry-over minus used days, computed in hundredths of a day.
+     */
+    static BigDecimal remainingOf(LeaveBalance balance) {
+        return balance.getDefaultBalance().add(balance.getCarryOver()).subtract(balance.getUsedLeave())
+                .setScale(LeaveBalance.DAYS_SCALE, RoundingMode.HALF_UP);
+    }
+
+    public List<BalanceAuditDto> auditBalances(String userId, int year) {
+        return leaveBalanceLedger.audit(userId, year);
+    }
+
     public LeaveBalance getLeaveBalanceOrNull(String userId, Long leaveTypeId) {
         int currentYear = LocalDate.now().getYear();
 
@@ -0,0 +1,318 @@
+package com.christabella.africahr.leavemanagement.service;
+
+import com.christabella.africahr.leavemanagement.entity.LeaveBalance;
+import com.christabella.africahr.leavemanagement.entity.LeaveType;
+import com.christabella.africahr.leavemanagement.enums.BalanceMovementType;
+import com.christabella.africahr.leavemanagement.repository.LeaveTypeRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Year;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Year-end carry-over as a chunked pipeline. Previous-year balances of accruing leave types
+ * are read in id-ordered chunks; for each chunk the target-year balances of the same users
+ * are loaded with one query, missing ones are inserted and existing ones updated in JDBC
+ * batches, and the ledger entries are appended the same way. Existing balances only get
+ * their carry-over set and their remaining days moved relative to the stored value, guarded
+ * on what was read, so approvals running at the same time are never overwritten. The checkpoint advances in the
+ * chunk's transaction, so an interrupted run resumes after the last committed chunk.
+ */
+@Service
+@Slf4j
+public class LeaveCarryOverJob {
+
+    static final String JOB_NAME = "year-end-carry-over";
+    static final BigDecimal MAX_CARRY_OVER = new BigDecimal("5");
+    private static final int MAX_ATTEMPTS = 3;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final LeaveTypeRepository leaveTypeRepository;
+    private final LeaveBalanceBatchWriter batchWriter;
+    private final JobCheckpoints jobCheckpoints;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int chunkSize;
+    private final Duration lease;
+
+    public LeaveCarryOverJob(JdbcTemplate jdbcTemplate,
+                             TransactionTemplate transactionTemplate,
+                             LeaveTypeRepository leaveTypeRepository,
+                             LeaveBalanceBatchWriter batchWriter,
+                             JobCheckpoints jobCheckpoints,
+                             ApplicationEventPublisher eventPublisher,
+                             @Value("${leave.jobs.chunk-size:5000}") int chunkSize,
+                             @Value("${leave.jobs.lease:15m}") Duration lease) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.leaveTypeRepository = leaveTypeRepository;
+        this.batchWriter = batchWriter;
+        this.jobCheckpoints = jobCheckpoints;
+        this.eventPublisher = eventPublisher;
+        this.chunkSize = chunkSize;
+        this.lease = lease;
+    }
+
+    @Scheduled(cron = "0 0 1 1 1 *", zone = "Africa/Kigali")
+    public void carryOverLeave() {
+        carryOver(Year.now(ZoneId.of("Africa/Kigali")).getValue());
+    }
+
+    /**
+     * Carries the previous year's remaining days, up to {@link #MAX_CARRY_OVER}, into
+     * {@code targetYear}.
+     *
+     * @return the number of previous-year balances processed by this call, or empty if the
+     * year was already carried over or is being processed by another node
+     */
+    public Optional<Long> carryOver(int targetYear) {
+        int previousYear = targetYear - 1;
+        Optional<JobCheckpoints.Checkpoint> claimed = jobCheckpoints.claim(JOB_NAME, String.valueOf(targetYear), lease);
+        if (claimed.isEmpty()) {
+            log.info("Carry-over into {} already done or running elsewhere, skipping", targetYear);
+            return Optional.empty();
+        }
+
+        Map<Long, LeaveType> accruingTypes = leaveTypeRepository.findAll().stream()
+                .filter(LeaveAccrualJob::isAccruing)
+                .collect(Collectors.toMap(LeaveType::getId, Function.identity()));
+        Long[] leaveTypeIds = accruingTypes.keySet().toArray(Long[]::new);
+
+        JobCheckpoints.Checkpoint checkpoint = claimed.get();
+        long startCount = checkpoint.processedCount();
+        log.info("Carrying over leave from {} into {} from balance id {}",
+                previousYear, targetYear, checkpoint.lastProcessedId());
+        try {
+            while (true) {
+                JobCheckpoints.Checkpoint current = checkpoint;
+                JobCheckpoints.Checkpoint next = transactionTemplate.execute(status ->
+                        carryOverChunk(current, targetYear, accruingTypes, leaveTypeIds));
+                if (next == null) {
+                    break;
+                }
+                checkpoint = next;
+            }
+            jobCheckpoints.complete(checkpoint);
+        } catch (RuntimeException e) {
+            jobCheckpoints.fail(checkpoint, e.getMessage());
+            log.error("Carry-over into {} failed after balance id {}: {}",
+                    targetYear, checkpoint.lastProcessedId(), e.getMessage(), e);
+            throw e;
+        } finally {
+            eventPublisher.publishEvent(LeaveBalanceChangedEvent.allUsers(targetYear));
+        }
+
+        long processed = checkpoint.processedCount() - startCount;
+        log.info("Carry-over into {} completed: {} balances", targetYear, processed);
+        return Optional.of(processed);
+    }
+
+    /**
+     * Re-runs target years whose carry-over failed or was abandoned mid-run; each resumes
+     * after its last committed chunk. The cron fires once a year, so without this an
+     * unfinished carry-over would never be completed.
+     *
+     * @return the number of years resumed
+     */
+    public int resumeUnfinished() {
+        int resumed = 0;
+        for (String period : jobCheckpoints.resumablePeriods(JOB_NAME, lease)) {
+            try {
+                if (carryOver(Integer.parseInt(period)).isPresent()) {
+                    resumed++;
+                }
+            } catch (RuntimeException e) {
+                log.warn("Resuming carry-over into {} failed again: {}", period, e.getMessage());
+            }
+        }
+        return resumed;
+    }
+
+    private JobCheckpoints.Checkpoint carryOverChunk(JobCheckpoints.Checkpoint checkpoint, int targetYear,
+                                                     Map<Long, LeaveType> accruingTypes, Long[] leaveTypeIds) {
+        int previousYear = targetYear - 1;
+        List<SourceBalance> sources = jdbcTemplate.query(connection -> {
+            var statement = connection.prepareStatement("""
+                    SELECT id, user_id, user_email, leave_type_id, COALESCE(remaining_days, 0)
+                    FROM leave_balance
+                    WHERE year = ? AND leave_type_id = ANY (?) AND id > ?
+                    ORDER BY id
+                    LIMIT ?
+                    """);
+            statement.setInt(1, previousYear);
+            statement.setArray(2, connection.createArrayOf("bigint", leaveTypeIds));
+            statement.setLong(3, checkpoint.lastProcessedId());
+            statement.setInt(4, chunkSize);
+            return statement;
+        }, (rs, i) -> new SourceBalance(rs.getLong(1), rs.getString(2), rs.getString(3), rs.getLong(4),
+                rs.getBigDecimal(5)));
+        if (sources.isEmpty()) {
+            return null;
+        }
+
+        String[] userIds = sources.stream().map(SourceBalance::userId).distinct().toArray(String[]::new);
+        Map<BalanceKey, LeaveBalance> targets = loadTargets(userIds, targetYear, accruingTypes, leaveTypeIds);
+        List<LeaveBalance> inserts = new ArrayList<>();
+        List<LeaveBalanceBatchWriter.Movement> movements = new ArrayList<>();
+        Map<BalanceKey, BigDecimal> carryOvers = new LinkedHashMap<>();
+        String note = "Carried over from " + previousYear;
+
+        for (SourceBalance source : sources) {
+            LeaveType leaveType = accruingTypes.get(source.leaveTypeId());
+            BalanceKey key = new BalanceKey(source.userId(), source.leaveTypeId());
+            BigDecimal carryOver = source.remaining().min(MAX_CARRY_OVER).setScale(LeaveBalance.DAYS_SCALE);
+
+            LeaveBalance target = targets.get(key);
+            if (target == null) {
+                target = LeaveBalance.builder()
+                        .userId(source.userId())
+                        .userEmail(source.userEmail())
+                        .leaveType(leaveType)
+                        .defaultBalance(LeaveBalanceService.toDays(leaveType.getDefaultBalance()))
+                        .remainingLeave(LeaveBalanceService.toDays(leaveType.getDefaultBalance()))
+                        .year(targetYear)
+                        .build();
+                targets.put(key, target);
+                inserts.add(target);
+                movements.add(LeaveBalanceBatchWriter.Movement.opening(target, "Opened by carry-over from " + previousYear));
+            }
+
+            if (target.getId() == null) {
+                movements.add(carryOverMovement(target, carryOver, note));
+            } else {
+                carryOvers.put(key, carryOver);
+            }
+        }
+
+        List<LeaveBalance> opened = batchWriter.insert(inserts);
+        if (opened.size() < inserts.size()) {
+            // Opened concurrently, e.g. by a first visit: carry over into the row that exists
+            Set<LeaveBalance> openedElsewhere = new HashSet<>(inserts);
+            opened.forEach(openedElsewhere::remove);
+            movements.removeIf(movement -> openedElsewhere.contains(movement.balance()));
+            openedElsewhere.forEach(balance -> carryOvers.put(BalanceKey.of(balance), balance.getCarryOver()));
+            String[] raced = openedElsewhere.stream().map(LeaveBalance::getUserId).distinct().toArray(String[]::new);
+            targets.putAll(loadTargets(raced, targetYear, accruingTypes, leaveTypeIds));
+        }
+        movements.addAll(carryOverExisting(targets, carryOvers, targetYear, accruingTypes, leaveTypeIds, note));
+        batchWriter.appendMovements(movements);
+        log.debug("Carry-over chunk into {}: {} balances, {} opened, {} updated",
+                targetYear, sources.size(), opened.size(), carryOvers.size());
+
+        return jobCheckpoints.advance(checkpoint, sources.get(sources.size() - 1).id(), sources.size());
+    }
+
+    /**
+     * Applies carry-over to balances that already exist in the target year. A balance whose
+     * used or remaining days changed after it was read (an approval committed meanwhile) is
+     * re-read and retried, so the carry-over never overwrites a concurrent deduction.
+     */
+    private List<LeaveBalanceBatchWriter.Movement> carryOverExisting(Map<BalanceKey, LeaveBalance> targets,
+                                                                     Map<BalanceKey, BigDecimal> carryOvers,
+                                                                     int targetYear,
+                                                                     Map<Long, LeaveType> accruingTypes,
+                                                                     Long[] leaveTypeIds, String note) {
+        List<LeaveBalanceBatchWriter.Movement> applied = new ArrayList<>();
+        Map<BalanceKey, BigDecimal> pending = carryOvers;
+        for (int attempt = 1; !pending.isEmpty(); attempt++) {
+            if (attempt > MAX_ATTEMPTS) {
+                throw new IllegalStateException(pending.size() + " balances of " + targetYear
+                        + " kept changing during carry-over");
+            }
+            List<LeaveBalanceBatchWriter.Movement> movements = new ArrayList<>();
+            pending.forEach((key, carryOver) -> movements.add(carryOverMovement(targets.get(key), carryOver, note)));
+
+            List<LeaveBalanceBatchWriter.Movement> stale = batchWriter.applyCarryOver(movements);
+            movements.removeAll(stale);
+            applied.addAll(movements);
+            if (stale.isEmpty()) {
+                break;
+            }
+
+            log.debug("Carry-over into {}: {} balances changed concurrently, re-reading", targetYear, stale.size());
+            String[] userIds = stale.stream().map(m -> m.balance().getUserId()).distinct().toArray(String[]::new);
+            targets.putAll(loadTargets(userIds, targetYear, accruingTypes, leaveTypeIds));
+            Map<BalanceKey, BigDecimal> retry = new LinkedHashMap<>();
+            for (LeaveBalanceBatchWriter.Movement movement : stale) {
+                BalanceKey key = BalanceKey.of(movement.balance());
+                retry.put(key, pending.get(key));
+            }
+            pending = retry;
+        }
+        return applied;
+    }
+
+    /**
+     * Sets the carry-over of {@code target} and moves its remaining days by the difference to
+     * the carry-over it already had, so running the carry-over again changes nothing.
+     */
+    private static LeaveBalanceBatchWriter.Movement carryOverMovement(LeaveBalance target, BigDecimal carryOver,
+                                                                       String note) {
+        LeaveBalanceLedger.Totals before = LeaveBalanceLedger.Totals.of(target);
+        BigDecimal delta = carryOver.subtract(before.carryOver());
+        target.setCarryOver(carryOver);
+        target.setRemainingLeave(before.remaining().add(delta));
+        return LeaveBalanceBatchWriter.Movement.of(target, before, BalanceMovementType.CARRY_OVER, note);
+    }
+
+    private Map<BalanceKey, LeaveBalance> loadTargets(String[] userIds, int targetYear,
+                                                      Map<Long, LeaveType> accruingTypes, Long[] leaveTypeIds) {
+        Map<BalanceKey, LeaveBalance> targets = new HashMap<>();
+        jdbcTemplate.query(connection -> {
+            var statement = connection.prepareStatement("""
+                    SELECT id, user_id, user_email, leave_type_id, default_balance, used_leave, remaining_days,
+                           carry_over, manually_adjusted
+                    FROM leave_balance
+                    WHERE year = ? AND user_id = ANY (?) AND leave_type_id = ANY (?)
+                    ORDER BY id
+                    """);
+            statement.setInt(1, targetYear);
+            statement.setArray(2, connection.createArrayOf("varchar", userIds));
+            statement.setArray(3, connection.createArrayOf("bigint", leaveTypeIds));
+            return statement;
+        }, rs -> {
+            LeaveBalance balance = LeaveBalance.builder()
+                    .id(rs.getLong("id"))
+                    .userId(rs.getString("user_id"))
+                    .userEmail(rs.getString("user_email"))
+                    .leaveType(accruingTypes.get(rs.getLong("leave_type_id")))
+                    .defaultBalance(rs.getBigDecimal("default_balance"))
+                    .usedLeave(rs.getBigDecimal("used_leave"))
+                    .remainingLeave(rs.getBigDecimal("remaining_days"))
+                    .carryOver(rs.getBigDecimal("carry_over"))
+                    .year(targetYear)
+                    .manuallyAdjusted(rs.getBoolean("manually_adjusted"))
+                    .build();
+            targets.putIfAbsent(BalanceKey.of(balance), balance);
+        });
+        return targets;
+    }
+
+    private record SourceBalance(long id, String userId, String userEmail, long leaveTypeId, BigDecimal remaining) {
+    }
+
+    private record BalanceKey(String userId, long leaveTypeId) {
+
+        static BalanceKey of(LeaveBalance balance) {
+            return new BalanceKey(balance.getUserId(), balance.getLeaveType().getId());
+        }
+    }
+}
@@ -3,6 +3,7 @@ package com.christabella.africahr.leavemanagement.service;
 import com.christabella.africahr.leavemanagement.dto.ApiResponse;
 import com.christabella.africahr.leavemanagement.dto.LeaveRequestDto;
 import com.christabella.africahr.leavemanagement.dto.TeamOnLeaveDto;
+import com.christabella.africahr.leavemanagement.dto.UserProfileDto;
 import com.christabella.africahr.leavemanagement.entity.LeaveRequest;
 import com.christabella.africahr.leavemanagement.entity.LeaveType;
 import com.christabella.africahr.leavemanagement.enums.LeaveStatus;
@@ -10,26 +11,20 @@ import com.christabella.africahr.leavemanagement.exception.BadRequestException;
 import com.christabella.africahr.leavemanagement.exception.ResourceNotFoundException;
 import com.christabella.africahr.leavemanagement.repository.LeaveRequestRepository;
 import com.christabella.africahr.leavemanagement.repository.LeaveTypeRepository;
+import com.christabella.africahr.leavemanagement.security.AuthenticatedUserResolver;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Scheduled;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 import com.christabella.africahr.leavemanagement.entity.LeaveBalance;
 import com.christabella.africahr.leavemanagement.exception.LeaveBalanceExceededException;
 import com.christabella.africahr.leavemanagement.repository.LeaveBalanceRepository;
-import java.time.DayOfWeek;
+import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
 import java.util.stream.Collectors;
-import java.util.HashSet;
-import com.christabella.africahr.leavemanagement.entity.PublicHoliday;
-import com.christabella.africahr.leavemanagement.repository.PublicHolidayRepository;
 import java.util.ArrayList;
 import java.util.Arrays;
 
@@ -46,44 +41,22 @@ public class LeaveService {
     private final DocumentService documentService;
     private final LeaveBalanceRepository leaveBalanceRepository;
     private final LeaveBalanceService leaveBalanceService;
-    private final PublicHolidayRepository publicHolidayRepository;
+    private final BusinessDayCalendarService businessDayCalendarService;
+    private final ApproverRosterService approverRosterService;
+    private final AuthenticatedUserResolver authenticatedUserResolver;
 
     public long calculateBusinessDays(LocalDate startDate, LocalDate endDate) {
-        List<LocalDate> holidays = publicHolidayRepository.findByDateBetween(startDate, endDate)
-                .stream()
-                .map(PublicHoliday::getDate)
-                .collect(Collectors.toList());
-
-        long days = 0;
-        LocalDate currentDate = startDate;
-
-        while (!currentDate.isAfter(endDate)) {
-            if (!(currentDate.getDayOfWeek() == DayOfWeek.SATURDAY ||
-                    currentDate.getDayOfWeek() == DayOfWeek.SUNDAY ||
-                    holidays.contains(currentDate))) {
-                days++;
-            }
-            currentDate = currentDate.plusDays(1);
-        }
+        return businessDayCalendarService.countBusinessDays(startDate, endDate);
+    }
 
-        return days;
+    public long calculateBusinessDays(String userId, LocalDate startDate, LocalDate endDate) {
+        return businessDayCalendarService.countBusinessDaysForUser(userId, startDate, endDate);
     }
 
     public LeaveRequest applyForLeave(LeaveRequestDto dto, MultipartFile file) {
-        String username = getCurrentUserId();
-        String userId = userServiceClient.getUserIdByEmail(username);
-
-        if (userId == null) {
-            log.error("userId is null for email: {}", username);
-            throw new BadRequestException("Unable to find user ID for email: " + username);
-        }
-
-        if (!isValidUUID(userId)) {
-            log.error("userId is not a valid UUID: {}", userId);
-            throw new IllegalArgumentException("userId must be a UUID, not an email or invalid string");
-        }
-
-        String email = userServiceClient.getUserEmail(userId);
+        AuthenticatedUserResolver.AuthenticatedUser currentUser = authenticatedUserResolver.resolve();
+        String userId = currentUser.userId();
+        String email = currentUser.email();
 
         boolean hasPending = leaveRequestRepository.existsByUserIdAndStatus(userId, LeaveStatus.PENDING);
         if (hasPending) {
@@ -98,7 +71,7 @@ public class LeaveService {
             throw new BadRequestException("Start date cannot be after end date");
         }
 
-        long requestedDays = calculateBusinessDays(dto.getStartDate(), dto.getEndDate());
+        long requestedDays = calculateBusinessDays(userId, dto.getStartDate(), dto.getEndDate());
 
         if (requestedDays <= 0) {
             throw new BadRequestException("Leave request must include at least one business day");
@@ -116,9 +89,9 @@ public class LeaveService {
                                     "Leave balance not found after initialization"));
                 });
 
-        double availableBalance = Double.parseDouble(balance.getRemainingLeave());
+        BigDecimal availableBalance = balance.getRemainingLeave();
 
-        if (availableBalance < requestedDays) {
+        if (availableBalance.compareTo(BigDecimal.valueOf(requestedDays)) < 0) {
             String message = String.format(
                     "Unable to process request: %s has a maximum annual allocation of %.1f days. " +
                             "You currently have %.1f days available and are requesting %d days. " +
@@ -152,32 +125,15 @@ public class LeaveService {
         return request;
     }
 
-    private boolean isValidUUID(String userId) {
-        try {
-            java.util.UUID.fromString(userId);
-            return true;
-        } catch (IllegalArgumentException e) {
-            return false;
-        }
-    }
-
     public String getCurrentUserId() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        if (authentication == null || !authentication.isAuthenticated()) {
-            throw new BadRequestException("User is not authenticated.");
-        }
-        Object principal = authentication.getPrincipal();
-        if (principal instanceof UserDetails) {
-            return ((UserDetails) principal).getUsername();
-        } else if (principal instanceof String) {
-            return (String) principal;
-        }
-        throw new BadRequestException("Unable to extract user ID from authentication.");
+        return authenticatedUserResolver.resolve().userId();
     }
 
     private void sendEmailNotifications(LeaveRequest leaveRequest) {
         try {
-            String userEmail = userServiceClient.getUserEmail(leaveRequest.getUserId());
+            String userEmail = leaveRequest.getEmail() != null
+                    ? leaveRequest.getEmail()
+                    : userServiceClient.getUserEmail(leaveRequest.getUserId());
             String applicantName = userServiceClient.getUserFullName(leaveRequest.getUserId());
             if (userEmail == null || userEmail.isBlank()) {
                 log.warn("User email is null or blank for userId: {}", leaveRequest.getUserId());
@@ -185,10 +141,8 @@ public class LeaveService {
             }
 
 
-            Set<String> approverEmails = new HashSet<>();
-            approverEmails.addAll(userServiceClient.getManagerEmails());
-            approverEmails.addAll(userServiceClient.getAdminEmails());
-            // log.info("Approver emails to notify: {}", approverEmails);
+            ApproverRosterService.Roster roster = approverRosterService.getRoster();
+            // log.info("Approver emails to notify: {}", roster.emails());
 
             // Send to user (the applicant)
             Map<String, Object> userModel = Map.of(
@@ -204,8 +158,8 @@ public class LeaveService {
                     "leave-notification",
                     userModel);
 
-            for (String approverEmail : approverEmails) {
-                String approverName = userServiceClient.getUserFullNameByEmail(approverEmail);
+            for (String approverEmail : roster.emails()) {
+                String approverName = roster.nameOf(approverEmail);
                 Map<String, Object> approverModel = Map.of(
                         "name", approverName,
                         "applicantName", applicantName,
@@ -264,14 +218,21 @@ public class LeaveService {
             throw new ResourceNotFoundException("No team member is currently on leave.");
         }
 
+        Map<String, UserProfileDto> profiles = userServiceClient.getUserProfiles(approved.stream()
+                .map(LeaveRequest::getUserId)
+                .collect(Collectors.toSet()));
+
         List<TeamOnLeaveDto> result = approved.stream()
-                .filter(req -> department == null
-                        || department.equalsIgnoreCase(userServiceClient.getUserDepartment(req.getUserId())))
-                .map(req -> TeamOnLeaveDto.builder()
-                        .fullName(userServiceClient.getUserFullName(req.getUserId()))
-                        .avatarUrl(userServiceClient.getUserAvatar(req.getUserId()))
-                        .leaveUntil(req.getEndDate())
-                        .build())
+                .filter(req -> department == null || (profiles.containsKey(req.getUserId())
+                        && department.equalsIgnoreCase(profiles.get(req.getUserId()).getDepartment())))
+                .map(req -> {
+                    UserProfileDto profile = profiles.getOrDefault(req.getUserId(), new UserProfileDto());
+                    return TeamOnLeaveDto.builder()
+                            .fullName(profile.getFullName())
+                            .avatarUrl(profile.getAvatar())
+                            .leaveUntil(req.getEndDate())
+                            .build();
+                })
                 .collect(Collectors.toList());
 
         return ApiResponse.<List<TeamOnLeaveDto>>builder()
@@ -334,33 +295,7 @@ public class LeaveService {
             // log.info("Attempting to send notification for leave request: {}", savedLeaveRequest.getId());
             
 
-            List<String> approverEmails = new ArrayList<>();
-            
-
-            try {
-                List<String> managerEmails = userServiceClient.getManagerEmails();
-                if (managerEmails != null && !managerEmails.isEmpty()) {
-                    // log.info("Found {} manager emails for notification", managerEmails.size());
-                    approverEmails.addAll(managerEmails);
-                } else {
-                    log.warn("No manager emails found for notification");
-                }
-            } catch (Exception e) {
-                log.error("Failed to retrieve manager emails: {}", e.getMessage(), e);
-            }
-            
-
-            try {
-                List<String> adminEmails = userServiceClient.getAdminEmails();
-                if (adminEmails != null && !adminEmails.isEmpty()) {
-                    // log.info("Found {} admin emails for notification", adminEmails.size());
-                    approverEmails.addAll(adminEmails);
-                } else {
-                    log.warn("No admin emails found for notification");
-                }
-            } catch (Exception e) {
-                log.error("Failed to retrieve admin emails: {}", e.getMessage(), e);
-            }
+            List<String> approverEmails = new ArrayList<>(approverRosterService.getRoster().emails());
             
             if (approverEmails.isEmpty()) {
                 log.error("No approver emails found, cannot send leave request notification");
@@ -1,8 +1,13 @@
 package com.christabella.africahr.leavemanagement.service;
 
 import com.christabella.africahr.leavemanagement.dto.PublicHolidayDto;
+import com.christabella.africahr.leavemanagement.entity.PublicHoliday;
+import com.christabella.africahr.leavemanagement.exception.BadRequestException;
+import com.christabella.africahr.leavemanagement.exception.ResourceNotFoundException;
 import com.christabella.africahr.leavemanagement.repository.PublicHolidayRepository;
+import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
@@ -14,14 +19,50 @@ import java.util.stream.Collectors;
 public class PublicHolidayService {
 
     private final PublicHolidayRepository publicHolidayRepository;
+    private final BusinessDayCalendarService businessDayCalendarService;
+    private final ApplicationEventPublisher eventPublisher;
 
     public List<PublicHolidayDto> getUpcomingHolidays() {
         return publicHolidayRepository.findByDateAfterOrderByDateAsc(LocalDate.now())
                 .stream()
-                .map(h -> PublicHolidayDto.builder()
-                        .date(h.getDate())
-                        .name(h.getName())
-                        .build())
+                .map(PublicHolidayService::toDto)
                 .collect(Collectors.toList());
     }
+
+    @Transactional
+    public PublicHolidayDto addHoliday(PublicHolidayDto dto) {
+        if (dto.getDate() == null || dto.getName() == null || dto.getName().isBlank()) {
+            throw new BadRequestException("Holiday date and name are required");
+        }
+        String country = BusinessDayCalendarService.normalizeCountry(dto.getCountry());
+        if (country == null) {
+            country = businessDayCalendarService.getDefaultCountry();
+        }
+        if (publicHolidayRepository.existsByDateAndCountry(dto.getDate(), country)) {
+            throw new BadRequestException("A holiday already exists on " + dto.getDate() + " for " + country);
+        }
+
+        PublicHoliday saved = publicHolidayRepository.save(
+                new PublicHoliday(null, dto.getDate(), dto.getName(), dto.getDescription(), country));
+        eventPublisher.publishEvent(PublicHolidaysChangedEvent.of(List.of(saved.getDate())));
+        return toDto(saved);
+    }
+
+    @Transactional
+    public void deleteHoliday(Long id) {
+        PublicHoliday holiday = publicHolidayRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Holiday not found"));
+        publicHolidayRepository.delete(holiday);
+        eventPublisher.publishEvent(PublicHolidaysChangedEvent.of(List.of(holiday.getDate())));
+    }
+
+    private static PublicHolidayDto toDto(PublicHoliday holiday) {
+        return PublicHolidayDto.builder()
+                .id(holiday.getId())
+                .date(holiday.getDate())
+                .name(holiday.getName())
+                .description(holiday.getDescription())
+                .country(holiday.getCountry())
+                .build();
+    }
 }
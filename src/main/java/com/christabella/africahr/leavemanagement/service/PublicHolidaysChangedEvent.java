@@ -0,0 +1,23 @@
+package com.christabella.africahr.leavemanagement.service;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Published whenever public holidays are added, removed or changed, so derived
+ * calendars can be rebuilt for the affected years.
+ */
+public record PublicHolidaysChangedEvent(Set<Integer> years) {
+
+    public PublicHolidaysChangedEvent {
+        years = Set.copyOf(years);
+    }
+
+    public static PublicHolidaysChangedEvent of(Collection<LocalDate> dates) {
+        return new PublicHolidaysChangedEvent(dates.stream()
+                .map(LocalDate::getYear)
+                .collect(Collectors.toSet()));
+    }
+}
@@ -1,13 +1,16 @@
 package com.christabella.africahr.leavemanagement.service;
 
 import com.christabella.africahr.leavemanagement.dto.LeaveReportDto;
+import com.christabella.africahr.leavemanagement.dto.UserProfileDto;
 import com.christabella.africahr.leavemanagement.entity.LeaveRequest;
 import com.christabella.africahr.leavemanagement.repository.LeaveRequestRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 @Service
 @RequiredArgsConstructor
@@ -15,6 +18,7 @@ public class ReportingService {
 
     private final LeaveRequestRepository leaveRequestRepository;
     private final UserServiceClient userServiceClient;
+    private final BusinessDayCalendarService businessDayCalendarService;
     private static final String UPLOAD_DIR = "uploads/documents/";
 
     public List<LeaveReportDto> getLeaveReports(String type, String department, String status, String start, String end) {
@@ -39,17 +43,31 @@ public class ReportingService {
                     .filter(r -> !r.getStartDate().isAfter(endDate) && !r.getEndDate().isBefore(startDate))
                     .collect(Collectors.toList());
         }
+        // Enrich the remaining rows with one bulk profile lookup
+        Map<String, UserProfileDto> profiles = userServiceClient.getUserProfiles(requests.stream()
+                .map(LeaveRequest::getUserId)
+                .collect(Collectors.toSet()));
         // Filter by department
         if (department != null && !department.isBlank()) {
             requests = requests.stream()
-                    .filter(r -> department.equalsIgnoreCase(userServiceClient.getUserDepartment(r.getUserId())))
+                    .filter(r -> profiles.containsKey(r.getUserId())
+                            && department.equalsIgnoreCase(profiles.get(r.getUserId()).getDepartment()))
                     .collect(Collectors.toList());
         }
-        return requests.stream().map(request -> {
-            String employeeName = userServiceClient.getUserFullName(request.getUserId());
-            String employeeEmail = userServiceClient.getUserEmail(request.getUserId());
-            String dept = userServiceClient.getUserDepartment(request.getUserId());
-            String role = userServiceClient.getUserRole(request.getUserId());
+        // Business days for every row from one calendar snapshot
+        List<LeaveRequest> rows = requests;
+        long[] businessDays = businessDayCalendarService.countBusinessDays(rows.stream()
+                .map(r -> new BusinessDayCalendarService.DateRange(
+                        profiles.containsKey(r.getUserId()) ? profiles.get(r.getUserId()).getCountry() : null,
+                        r.getStartDate(), r.getEndDate()))
+                .collect(Collectors.toList()));
+        return IntStream.range(0, rows.size()).mapToObj(i -> {
+            LeaveRequest request = rows.get(i);
+            UserProfileDto profile = profiles.getOrDefault(request.getUserId(), new UserProfileDto());
+            String employeeName = profile.getFullName();
+            String employeeEmail = profile.getEmail();
+            String dept = profile.getDepartment();
+            String role = profile.getRole();
             String approverName = null;
             String approverComment = request.getApproverComment();
             return LeaveReportDto.builder()
@@ -61,7 +79,7 @@ public class ReportingService {
                     .status(request.getStatus().name())
                     .startDate(request.getStartDate().toString())
                     .endDate(request.getEndDate().toString())
-                    .days(java.time.temporal.ChronoUnit.DAYS.between(request.getStartDate(), request.getEndDate()) + 1)
+                    .days(businessDays[i])
                     .reason(request.getReason())
                     .documentUrl(request.getDocumentUrl())
                     .approverName(approverName)
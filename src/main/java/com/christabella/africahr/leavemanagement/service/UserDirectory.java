@@ -0,0 +1,120 @@
+package com.christabella.africahr.leavemanagement.service;
+
+import com.christabella.africahr.leavemanagement.entity.UserDirectoryEntry;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory index over the replicated {@code user_directory} table. The index
+ * is immutable and swapped as a whole, so readers never see a partial refresh
+ * and never block. It stays empty (and {@link #isReady()} false) until the
+ * first snapshot has been loaded.
+ */
+@Component
+public class UserDirectory {
+
+    private volatile Index index = Index.EMPTY;
+
+    public boolean isReady() {
+        return index.ready();
+    }
+
+    public Instant getWatermark() {
+        return index.watermark();
+    }
+
+    public int size() {
+        return index.byId().size();
+    }
+
+    public Optional<UserDirectoryEntry> findById(String userId) {
+        return userId != null ? Optional.ofNullable(index.byId().get(userId)) : Optional.empty();
+    }
+
+    public Optional<UserDirectoryEntry> findByEmail(String email) {
+        return email != null
+                ? Optional.ofNullable(index.byEmail().get(email.toLowerCase(Locale.ROOT)))
+                : Optional.empty();
+    }
+
+    public List<UserDirectoryEntry> findByRole(String role) {
+        return index.byRole().getOrDefault(normalizeRole(role), List.of());
+    }
+
+    public Collection<UserDirectoryEntry> all() {
+        return index.byId().values();
+    }
+
+    synchronized void replaceAll(Collection<UserDirectoryEntry> entries) {
+        replaceAll(entries, null);
+    }
+
+    /**
+     * Replaces all entries. {@code watermark} is the newest change seen in the snapshot,
+     * including removed users, which are not among {@code entries}.
+     */
+    synchronized void replaceAll(Collection<UserDirectoryEntry> entries, Instant watermark) {
+        index = Index.of(entries, watermark);
+    }
+
+    /**
+     * Applies a batch of changes. The watermark never moves backwards and also covers
+     * removals, so a batch made only of removed users is not fetched again.
+     */
+    synchronized void apply(Collection<UserDirectoryEntry> upserts, Collection<String> removedIds, Instant watermark) {
+        Map<String, UserDirectoryEntry> byId = new HashMap<>(index.byId());
+        removedIds.forEach(byId::remove);
+        upserts.forEach(entry -> byId.put(entry.getUserId(), entry));
+        index = Index.of(byId.values(), latest(index.watermark(), watermark));
+    }
+
+    private static Instant latest(Instant a, Instant b) {
+        if (a == null) {
+            return b;
+        }
+        return b != null && b.isAfter(a) ? b : a;
+    }
+
+    static String normalizeRole(String role) {
+        return role != null ? role.trim().toUpperCase(Locale.ROOT).replace("ROLE_", "") : null;
+    }
+
+    private record Index(Map<String, UserDirectoryEntry> byId,
+                         Map<String, UserDirectoryEntry> byEmail,
+                         Map<String, List<UserDirectoryEntry>> byRole,
+                         Instant watermark,
+                         boolean ready) {
+
+        static final Index EMPTY = new Index(Map.of(), Map.of(), Map.of(), null, false);
+
+        static Index of(Collection<UserDirectoryEntry> entries, Instant knownWatermark) {
+            Map<String, UserDirectoryEntry> byId = entries.stream()
+                    .collect(Collectors.toUnmodifiableMap(UserDirectoryEntry::getUserId, e -> e, (a, b) -> b));
+            Map<String, UserDirectoryEntry> byEmail = byId.values().stream()
+                    .filter(e -> e.getEmail() != null)
+                    .collect(Collectors.toUnmodifiableMap(
+                            e -> e.getEmail().toLowerCase(Locale.ROOT), e -> e, (a, b) -> b));
+            Map<String, List<UserDirectoryEntry>> byRole = byId.values().stream()
+                    .filter(e -> e.getRole() != null)
+                    .collect(Collectors.collectingAndThen(
+                            Collectors.groupingBy(e -> normalizeRole(e.getRole()), Collectors.toUnmodifiableList()),
+                            Map::copyOf));
+            Instant watermark = byId.values().stream()
+                    .map(UserDirectoryEntry::getUpdatedAt)
+                    .filter(Objects::nonNull)
+                    .max(Comparator.naturalOrder())
+                    .orElse(null);
+            return new Index(byId, byEmail, byRole, latest(watermark, knownWatermark), true);
+        }
+    }
+}
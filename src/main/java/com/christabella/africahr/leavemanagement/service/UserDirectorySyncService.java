@@ -0,0 +1,169 @@
+package com.christabella.africahr.leavemanagement.service;
+
+import com.christabella.africahr.leavemanagement.Config.AuthServiceProperties;
+import com.christabella.africahr.leavemanagement.dto.UserProfileDto;
+import com.christabella.africahr.leavemanagement.entity.UserDirectoryEntry;
+import com.christabella.africahr.leavemanagement.repository.UserDirectoryRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Keeps the local user directory in step with the auth service: the table is
+ * loaded into memory at startup, replaced by a full snapshot, and then patched
+ * on a schedule with the users changed since the newest {@code updatedAt}
+ * already held.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class UserDirectorySyncService {
+
+    private static final int UPSERT_BATCH_SIZE = 1000;
+
+    private final UserDirectoryRepository userDirectoryRepository;
+    private final UserDirectory userDirectory;
+    private final UserServiceClient userServiceClient;
+    private final AuthServiceProperties authServiceProperties;
+    private final TransactionTemplate transactionTemplate;
+    private final JdbcTemplate jdbcTemplate;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        if (!authServiceProperties.getDirectory().isEnabled()) {
+            return;
+        }
+
+        List<UserDirectoryEntry> stored = userDirectoryRepository.findAll();
+        if (!stored.isEmpty()) {
+            userDirectory.replaceAll(stored);
+            log.info("Loaded {} users from the local directory", stored.size());
+        }
+
+        try {
+            fullSync();
+        } catch (Exception e) {
+            log.warn("Initial user directory snapshot failed, serving {} stored entries: {}",
+                    stored.size(), e.getMessage());
+        }
+    }
+
+    public void fullSync() {
+        List<UserProfileDto> snapshot = userServiceClient.fetchDirectory(null);
+        List<UserDirectoryEntry> entries = snapshot.stream()
+                .filter(profile -> !profile.isDeleted())
+                .map(UserDirectorySyncService::toEntry)
+                .toList();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            userDirectoryRepository.deleteAllInBatch();
+            upsert(entries);
+        });
+        userDirectory.replaceAll(entries, latestChange(snapshot));
+        log.info("User directory snapshot loaded: {} users", entries.size());
+    }
+
+    @Scheduled(fixedDelayString = "${auth.service.directory.refresh-interval}",
+            initialDelayString = "${auth.service.directory.refresh-interval}")
+    public void incrementalSync() {
+        if (!authServiceProperties.getDirectory().isEnabled()) {
+            return;
+        }
+
+        try {
+            if (!userDirectory.isReady()) {
+                fullSync();
+            } else {
+                applyChanges(userServiceClient.fetchDirectory(
+                        userDirectory.getWatermark() != null ? userDirectory.getWatermark() : Instant.EPOCH));
+            }
+        } catch (Exception e) {
+            log.warn("User directory refresh failed, keeping current entries: {}", e.getMessage());
+        }
+    }
+
+    private void applyChanges(List<UserProfileDto> changes) {
+        if (changes.isEmpty()) {
+            return;
+        }
+
+        List<String> removed = changes.stream()
+                .filter(UserProfileDto::isDeleted)
+                .map(UserProfileDto::getId)
+                .toList();
+        List<UserDirectoryEntry> upserts = changes.stream()
+                .filter(profile -> !profile.isDeleted())
+                .map(UserDirectorySyncService::toEntry)
+                .toList();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            userDirectoryRepository.deleteAllByIdInBatch(removed);
+            upsert(upserts);
+        });
+        userDirectory.apply(upserts, removed, latestChange(changes));
+        log.info("User directory refreshed: {} updated, {} removed", upserts.size(), removed.size());
+    }
+
+    /**
+     * Writes entries with JDBC batches of {@code INSERT ... ON CONFLICT DO UPDATE}. The id is
+     * assigned by the auth service, so {@code saveAll} would merge, selecting every row
+     * before writing it.
+     */
+    private void upsert(List<UserDirectoryEntry> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO user_directory (user_id, full_name, email, department, country, role, avatar, updated_at)
+                VALUES (?, ?, ?, ?, ?, ?, ?, ?)
+                ON CONFLICT (user_id) DO UPDATE
+                SET full_name = EXCLUDED.full_name, email = EXCLUDED.email, department = EXCLUDED.department,
+                    country = EXCLUDED.country, role = EXCLUDED.role, avatar = EXCLUDED.avatar,
+                    updated_at = EXCLUDED.updated_at
+                """, entries, UPSERT_BATCH_SIZE, (ps, entry) -> {
+            ps.setString(1, entry.getUserId());
+            ps.setString(2, entry.getFullName());
+            ps.setString(3, entry.getEmail());
+            ps.setString(4, entry.getDepartment());
+            ps.setString(5, entry.getCountry());
+            ps.setString(6, entry.getRole());
+            ps.setString(7, entry.getAvatar());
+            ps.setTimestamp(8, entry.getUpdatedAt() != null ? Timestamp.from(entry.getUpdatedAt()) : null);
+        });
+    }
+
+    /**
+     * The newest {@code updatedAt} among the changes, removed users included.
+     */
+    private static Instant latestChange(List<UserProfileDto> changes) {
+        return changes.stream()
+                .map(UserProfileDto::getUpdatedAt)
+                .filter(Objects::nonNull)
+                .max(Comparator.naturalOrder())
+                .orElse(null);
+    }
+
+    private static UserDirectoryEntry toEntry(UserProfileDto profile) {
+        return UserDirectoryEntry.builder()
+                .userId(profile.getId())
+                .fullName(profile.getFullName())
+                .email(profile.getEmail())
+                .department(profile.getDepartment())
+                .country(profile.getCountry())
+                .role(UserDirectory.normalizeRole(profile.getRole()))
+                .avatar(profile.getAvatar())
+                .updatedAt(profile.getUpdatedAt())
+                .build();
+    }
+}
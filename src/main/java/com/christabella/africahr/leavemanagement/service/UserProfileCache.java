@@ -0,0 +1,173 @@
+package com.christabella.africahr.leavemanagement.service;
+
+import com.christabella.africahr.leavemanagement.Config.AuthServiceProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Read-through cache for per-user attributes served by the auth service.
+ * Entries are keyed by subject (userId or email) and attribute name. A
+ * {@code null} result from the loader is cached as a "not found" miss with a
+ * shorter TTL; exceptions thrown by the loader are never cached.
+ * <p>
+ * Every value successfully loaded is also kept in a longer-lived
+ * last-known-good store. When a load fails (auth service down, circuit open,
+ * bulkhead full) that stale value is served instead of failing the lookup.
+ * <p>
+ * Profile attributes are cached under the user id; the id and full name looked up
+ * by email are cached under the email. Evicting a user removes both sets by key.
+ */
+@Component
+@Slf4j
+public class UserProfileCache {
+
+    public static final String CACHE_NAME = "userProfiles";
+
+    public static final String FULL_NAME = "fullname";
+    public static final String EMAIL = "email";
+    public static final String DEPARTMENT = "department";
+    public static final String ROLE = "role";
+    public static final String AVATAR = "avatar";
+    public static final String ID = "id";
+    public static final String FULL_NAME_BY_EMAIL = "fullnameByEmail";
+
+    private static final List<String> USER_ID_ATTRIBUTES = List.of(FULL_NAME, EMAIL, DEPARTMENT, ROLE, AVATAR);
+    private static final List<String> EMAIL_ATTRIBUTES = List.of(ID, FULL_NAME_BY_EMAIL);
+
+    private final Cache<Key, CachedValue> cache;
+    private final Cache<Key, String> lastKnownGood;
+    private final Counter staleServed;
+
+    public UserProfileCache(AuthServiceProperties properties, MeterRegistry meterRegistry) {
+        AuthServiceProperties.Cache config = properties.getCache();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(config.getMaxSize())
+                .expireAfter(new CachedValueExpiry(config.getTtl(), config.getNegativeTtl()))
+                .recordStats()
+                .build();
+        this.lastKnownGood = Caffeine.newBuilder()
+                .maximumSize(config.getStaleMaxSize())
+                .expireAfterWrite(config.getStaleTtl())
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        this.staleServed = Counter.builder("auth.client.stale.served")
+                .description("Profile lookups answered from the last known good value after a failed load")
+                .register(meterRegistry);
+    }
+
+    public String get(String subject, String attribute, Supplier<String> loader) {
+        Key key = new Key(subject, attribute);
+        CachedValue cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return cached.value();
+        }
+        // Load outside the cache's compute lock; concurrent loads are coalesced by the caller.
+        String value;
+        try {
+            value = loader.get();
+        } catch (RuntimeException e) {
+            String stale = lastKnownGood.getIfPresent(key);
+            if (stale == null) {
+                throw e;
+            }
+            staleServed.increment();
+            log.debug("Serving stale {} for {}: {}", attribute, subject, e.getMessage());
+            return stale;
+        }
+        put(key, value);
+        return value;
+    }
+
+    CachedValue peek(String subject, String attribute) {
+        return cache.getIfPresent(new Key(subject, attribute));
+    }
+
+    public void put(String subject, String attribute, String value) {
+        put(new Key(subject, attribute), value);
+    }
+
+    private void put(Key key, String value) {
+        cache.put(key, new CachedValue(value));
+        if (value != null) {
+            lastKnownGood.put(key, value);
+        }
+    }
+
+    /**
+     * Evicts the user's attributes and the email lookups for the email cached for the
+     * user. Email lookups under an email the cache does not know for this user are left
+     * to expire.
+     */
+    public void invalidate(String userId) {
+        Set<String> emails = new HashSet<>();
+        CachedValue cachedEmail = cache.getIfPresent(new Key(userId, EMAIL));
+        if (cachedEmail != null && !cachedEmail.isMiss()) {
+            emails.add(cachedEmail.value());
+        }
+        String lastEmail = lastKnownGood.getIfPresent(new Key(userId, EMAIL));
+        if (lastEmail != null) {
+            emails.add(lastEmail);
+        }
+
+        List<Key> keys = new ArrayList<>();
+        USER_ID_ATTRIBUTES.forEach(attribute -> keys.add(new Key(userId, attribute)));
+        emails.forEach(email -> EMAIL_ATTRIBUTES.forEach(attribute -> keys.add(new Key(email, attribute))));
+        cache.invalidateAll(keys);
+        lastKnownGood.invalidateAll(keys);
+        log.info("Evicted cached profile entries for user {}", userId);
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+        lastKnownGood.invalidateAll();
+        log.info("Evicted all cached user profile entries");
+    }
+
+    record Key(String subject, String attribute) {
+    }
+
+    record CachedValue(String value) {
+        boolean isMiss() {
+            return value == null;
+        }
+    }
+
+    private static final class CachedValueExpiry implements Expiry<Key, CachedValue> {
+
+        private final long ttlNanos;
+        private final long negativeTtlNanos;
+
+        CachedValueExpiry(Duration ttl, Duration negativeTtl) {
+            this.ttlNanos = ttl.toNanos();
+            this.negativeTtlNanos = negativeTtl.toNanos();
+        }
+
+        @Override
+        public long expireAfterCreate(Key key, CachedValue value, long currentTime) {
+            return value.isMiss() ? negativeTtlNanos : ttlNanos;
+        }
+
+        @Override
+        public long expireAfterUpdate(Key key, CachedValue value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(Key key, CachedValue value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -1,8 +1,16 @@
 package com.christabella.africahr.leavemanagement.service;
 
+import com.christabella.africahr.leavemanagement.Config.AuthServiceProperties;
+import com.christabella.africahr.leavemanagement.dto.UserProfileDto;
+import com.christabella.africahr.leavemanagement.entity.UserDirectoryEntry;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.client.RestClientException;
@@ -16,7 +24,21 @@ import org.springframework.http.MediaType;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.ResourceAccessException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 @Component
 @RequiredArgsConstructor
@@ -24,18 +46,32 @@ import java.util.Collections;
 public class UserServiceClient {
 
     private final RestTemplate restTemplate;
+    private final UserProfileCache userProfileCache;
+    private final AuthServiceProperties authServiceProperties;
+    @Qualifier("authLookupExecutor")
+    private final AsyncTaskExecutor authLookupExecutor;
+    private final MeterRegistry meterRegistry;
+    private final SingleFlight singleFlight;
+    private final AuthServiceGuard authServiceGuard;
+    private final UserDirectory userDirectory;
 
     @Value("${auth.service.base-url}")
     private String authServiceUrl;
 
 
     public String getUserFullName(String userId) {
+        UserDirectoryEntry local = userDirectory.findById(userId).orElse(null);
+        if (local != null) {
+            return local.getFullName();
+        }
         try {
-            String url = authServiceUrl + "/api/v1/auth/users/" + userId + "/fullname";
-            Map<String, Object> response = restTemplate.getForObject(url, Map.class);
-            return response != null ? (String) response.get("data") : null;
+            return userProfileCache.get(userId, UserProfileCache.FULL_NAME,
+                    () -> fetchData(authServiceUrl + "/api/v1/auth/users/" + userId + "/fullname"));
+        } catch (CallNotPermittedException | BulkheadFullException e) {
+            log.warn("Auth service unavailable, running degraded: {}", e.getMessage());
+            return null;
         } catch (RestClientException e) {
-            log.error("Failed to connect to auth service: {}", e.getMessage(), e);
+            log.error("Failed to connect to auth service: {}", e.getMessage());
             return null;
         } catch (Exception e) {
             log.error("Unexpected error fetching user full name: {}", e.getMessage(), e);
@@ -44,11 +80,18 @@ public class UserServiceClient {
     }
 
     public String getUserAvatar(String userId) {
+        UserDirectoryEntry local = userDirectory.findById(userId).orElse(null);
+        if (local != null) {
+            return local.getAvatar();
+        }
         try {
-            String url = authServiceUrl + "/api/v1/auth/users/" + userId + "/avatar";
-            return restTemplate.getForObject(url, String.class);
+            return userProfileCache.get(userId, UserProfileCache.AVATAR,
+                    () -> fetchString(authServiceUrl + "/api/v1/auth/users/" + userId + "/avatar"));
+        } catch (CallNotPermittedException | BulkheadFullException e) {
+            log.warn("Auth service unavailable, running degraded: {}", e.getMessage());
+            return null;
         } catch (RestClientException e) {
-            log.error("Failed to connect to auth service: {}", e.getMessage(), e);
+            log.error("Failed to connect to auth service: {}", e.getMessage());
             return null;
         } catch (Exception e) {
             log.error("Unexpected error fetching user avatar: {}", e.getMessage(), e);
@@ -57,12 +100,18 @@ public class UserServiceClient {
     }
 
     public String getUserDepartment(String userId) {
+        UserDirectoryEntry local = userDirectory.findById(userId).orElse(null);
+        if (local != null) {
+            return local.getDepartment();
+        }
         try {
-            String url = authServiceUrl + "/api/v1/auth/users/" + userId + "/department";
-            Map<String, Object> response = restTemplate.getForObject(url, Map.class);
-            return response != null ? (String) response.get("data") : null;
+            return userProfileCache.get(userId, UserProfileCache.DEPARTMENT,
+                    () -> fetchData(authServiceUrl + "/api/v1/auth/users/" + userId + "/department"));
+        } catch (CallNotPermittedException | BulkheadFullException e) {
+            log.warn("Auth service unavailable, running degraded: {}", e.getMessage());
+            return null;
         } catch (RestClientException e) {
-            log.error("Failed to connect to auth service: {}", e.getMessage(), e);
+            log.error("Failed to connect to auth service: {}", e.getMessage());
             return null;
         } catch (Exception e) {
             log.error("Unexpected error fetching user department: {}", e.getMessage(), e);
@@ -71,12 +120,21 @@ public class UserServiceClient {
     }
 
     public List<String> getManagersByDepartment(String department) {
+        if (userDirectory.isReady()) {
+            return userDirectory.findByRole("MANAGER").stream()
+                    .filter(entry -> department != null && department.equalsIgnoreCase(entry.getDepartment()))
+                    .map(UserDirectoryEntry::getUserId)
+                    .toList();
+        }
         try {
             String url = authServiceUrl + "/api/v1/auth/users/role/MANAGER?department=" + department;
-            List<String> managers = restTemplate.getForObject(url, List.class);
+            List<String> managers = remote("GET " + url, () -> restTemplate.getForObject(url, List.class));
             return managers != null ? managers : List.of();
+        } catch (CallNotPermittedException | BulkheadFullException e) {
+            log.warn("Auth service unavailable, running degraded: {}", e.getMessage());
+            return List.of();
         } catch (RestClientException e) {
-            log.error("Failed to connect to auth service: {}", e.getMessage(), e);
+            log.error("Failed to connect to auth service: {}", e.getMessage());
             return List.of();
         } catch (Exception e) {
             log.error("Unexpected error fetching managers: {}", e.getMessage(), e);
@@ -85,12 +143,18 @@ public class UserServiceClient {
     }
 
     public List<String> getAdmins() {
+        if (userDirectory.isReady()) {
+            return localUserIdsByRole("ADMIN");
+        }
         try {
             String url = authServiceUrl + "/api/v1/auth/users/role/ADMIN";
-            List<String> admins = restTemplate.getForObject(url, List.class);
+            List<String> admins = remote("GET " + url, () -> restTemplate.getForObject(url, List.class));
             return admins != null ? admins : List.of();
+        } catch (CallNotPermittedException | BulkheadFullException e) {
+            log.warn("Auth service unavailable, running degraded: {}", e.getMessage());
+            return List.of();
         } catch (RestClientException e) {
-            log.error("Failed to connect to auth service: {}", e.getMessage(), e);
+            log.error("Failed to connect to auth service: {}", e.getMessage());
             return List.of();
         } catch (Exception e) {
             log.error("Unexpected error fetching admins: {}", e.getMessage(), e);
@@ -99,12 +163,18 @@ public class UserServiceClient {
     }
 
     public List<String> getAllManagers() {
+        if (userDirectory.isReady()) {
+            return localUserIdsByRole("MANAGER");
+        }
         try {
             String url = authServiceUrl + "/api/v1/auth/users/role/MANAGER";
-            List<String> managers = restTemplate.getForObject(url, List.class);
+            List<String> managers = remote("GET " + url, () -> restTemplate.getForObject(url, List.class));
             return managers != null ? managers : List.of();
+        } catch (CallNotPermittedException | BulkheadFullException e) {
+            log.warn("Auth service unavailable, running degraded: {}", e.getMessage());
+            return List.of();
         } catch (RestClientException e) {
-            log.error("Failed to connect to auth service: {}", e.getMessage(), e);
+            log.error("Failed to connect to auth service: {}", e.getMessage());
             return List.of();
         } catch (Exception e) {
             log.error("Unexpected error fetching all managers: {}", e.getMessage(), e);
@@ -114,12 +184,12 @@ public class UserServiceClient {
 
     public List<String> getUsersByRole(String role) {
         try {
-            String cleanRole = role.trim().toUpperCase().replace("ROLE_", "");
-            String url = authServiceUrl + "/api/v1/auth/users/role/" + cleanRole;
-            List<String> users = restTemplate.getForObject(url, List.class);
-            return users != null ? users : List.of();
+            return requireUsersByRole(role);
+        } catch (CallNotPermittedException | BulkheadFullException e) {
+            log.warn("Auth service unavailable, running degraded: {}", e.getMessage());
+            return List.of();
         } catch (RestClientException e) {
-            log.error("Failed to connect to auth service: {}", e.getMessage(), e);
+            log.error("Failed to connect to auth service: {}", e.getMessage());
             return List.of();
         } catch (Exception e) {
             log.error("Unexpected error fetching users with role {}: {}", role, e.getMessage(), e);
@@ -127,13 +197,33 @@ public class UserServiceClient {
         }
     }
 
+    /**
+     * Like {@link #getUsersByRole} but failures propagate, for callers that must not
+     * mistake an unavailable auth service for a role without users.
+     */
+    public List<String> requireUsersByRole(String role) {
+        if (userDirectory.isReady()) {
+            return localUserIdsByRole(role);
+        }
+        String cleanRole = role.trim().toUpperCase().replace("ROLE_", "");
+        String url = authServiceUrl + "/api/v1/auth/users/role/" + cleanRole;
+        List<String> users = remote("GET " + url, () -> restTemplate.getForObject(url, List.class));
+        return users != null ? users : List.of();
+    }
+
     public String getUserRole(String userId) {
+        UserDirectoryEntry local = userDirectory.findById(userId).orElse(null);
+        if (local != null) {
+            return local.getRole();
+        }
         try {
-            String url = authServiceUrl + "/api/v1/auth/users/" + userId + "/role";
-            String role = restTemplate.getForObject(url, String.class);
-            return role != null ? role.trim().toUpperCase().replace("ROLE_", "") : null;
+            return userProfileCache.get(userId, UserProfileCache.ROLE,
+                    () -> normalizeRole(fetchString(authServiceUrl + "/api/v1/auth/users/" + userId + "/role")));
+        } catch (CallNotPermittedException | BulkheadFullException e) {
+            log.warn("Auth service unavailable, running degraded: {}", e.getMessage());
+            return null;
         } catch (RestClientException e) {
-            log.error("Failed to connect to auth service: {}", e.getMessage(), e);
+            log.error("Failed to connect to auth service: {}", e.getMessage());
             return null;
         } catch (Exception e) {
             log.error("Unexpected error fetching user role: {}", e.getMessage(), e);
@@ -142,12 +232,18 @@ public class UserServiceClient {
     }
 
     public String getUserEmail(String userId) {
+        UserDirectoryEntry local = userDirectory.findById(userId).orElse(null);
+        if (local != null) {
+            return local.getEmail();
+        }
         try {
-            String url = authServiceUrl + "/api/v1/auth/users/" + userId + "/email";
-            Map<String, Object> response = restTemplate.getForObject(url, Map.class);
-            return response != null ? (String) response.get("data") : null;
+            return userProfileCache.get(userId, UserProfileCache.EMAIL,
+                    () -> fetchData(authServiceUrl + "/api/v1/auth/users/" + userId + "/email"));
+        } catch (CallNotPermittedException | BulkheadFullException e) {
+            log.warn("Auth service unavailable, running degraded: {}", e.getMessage());
+            return null;
         } catch (RestClientException e) {
-            log.error("Failed to connect to auth service: {}", e.getMessage(), e);
+            log.error("Failed to connect to auth service: {}", e.getMessage());
             return null;
         } catch (Exception e) {
             log.error("Unexpected error fetching user email: {}", e.getMessage(), e);
@@ -156,12 +252,18 @@ public class UserServiceClient {
     }
 
     public String getUserIdByEmail(String email) {
+        UserDirectoryEntry local = userDirectory.findByEmail(email).orElse(null);
+        if (local != null) {
+            return local.getUserId();
+        }
         try {
-            String url = authServiceUrl + "/api/v1/auth/users/id?email=" + email;
-            Map<String, Object> response = restTemplate.getForObject(url, Map.class);
-            return response != null ? (String) response.get("data") : null;
+            return userProfileCache.get(email, UserProfileCache.ID,
+                    () -> fetchData(authServiceUrl + "/api/v1/auth/users/id?email=" + email));
+        } catch (CallNotPermittedException | BulkheadFullException e) {
+            log.warn("Auth service unavailable, running degraded: {}", e.getMessage());
+            return null;
         } catch (RestClientException e) {
-            log.error("Failed to connect to auth service: {}", e.getMessage(), e);
+            log.error("Failed to connect to auth service: {}", e.getMessage());
             return null;
         } catch (Exception e) {
             log.error("Unexpected error fetching user ID by email: {}", e.getMessage(), e);
@@ -173,6 +275,9 @@ public class UserServiceClient {
      * Get emails of all managers in the system
      */
     public List<String> getManagerEmails() {
+        if (userDirectory.isReady()) {
+            return localEmailsByRole("MANAGER");
+        }
         try {
             HttpHeaders headers = new HttpHeaders();
             headers.setContentType(MediaType.APPLICATION_JSON);
@@ -181,14 +286,12 @@ public class UserServiceClient {
             
             String url = authServiceUrl + "/api/v1/auth/users/role/MANAGER/emails";
             
-            ResponseEntity<List<String>> response = restTemplate.exchange(
+            List<String> emails = remote("GET " + url, () -> restTemplate.exchange(
                 url,
                 HttpMethod.GET,
                 entity,
                 new ParameterizedTypeReference<List<String>>() {}
-            );
-            
-            List<String> emails = response.getBody();
+            ).getBody());
             if (emails == null || emails.isEmpty()) {
                 log.warn("No manager emails found");
                 return Collections.emptyList();
@@ -201,6 +304,9 @@ public class UserServiceClient {
         } catch (HttpClientErrorException e) {
             log.error("Client error while fetching manager emails: {}", e.getMessage());
             return Collections.emptyList();
+        } catch (CallNotPermittedException | BulkheadFullException e) {
+            log.warn("Auth service unavailable, running degraded: {}", e.getMessage());
+            return Collections.emptyList();
         } catch (ResourceAccessException e) {
             log.error("Connection error while fetching manager emails: {}", e.getMessage());
             return Collections.emptyList();
@@ -214,6 +320,9 @@ public class UserServiceClient {
      * Get emails of all admins in the system
      */
     public List<String> getAdminEmails() {
+        if (userDirectory.isReady()) {
+            return localEmailsByRole("ADMIN");
+        }
         try {
             HttpHeaders headers = new HttpHeaders();
             headers.setContentType(MediaType.APPLICATION_JSON);
@@ -222,14 +331,12 @@ public class UserServiceClient {
             
             String url = authServiceUrl + "/api/v1/auth/users/role/ADMIN/emails";
             
-            ResponseEntity<List<String>> response = restTemplate.exchange(
+            List<String> emails = remote("GET " + url, () -> restTemplate.exchange(
                 url,
                 HttpMethod.GET,
                 entity,
                 new ParameterizedTypeReference<List<String>>() {}
-            );
-            
-            List<String> emails = response.getBody();
+            ).getBody());
             if (emails == null || emails.isEmpty()) {
                 log.warn("No admin emails found");
                 return Collections.emptyList();
@@ -242,6 +349,9 @@ public class UserServiceClient {
         } catch (HttpClientErrorException e) {
             log.error("Client error while fetching admin emails: {}", e.getMessage());
             return Collections.emptyList();
+        } catch (CallNotPermittedException | BulkheadFullException e) {
+            log.warn("Auth service unavailable, running degraded: {}", e.getMessage());
+            return Collections.emptyList();
         } catch (ResourceAccessException e) {
             log.error("Connection error while fetching admin emails: {}", e.getMessage());
             return Collections.emptyList();
@@ -252,17 +362,281 @@ public class UserServiceClient {
     }
 
     public String getUserFullNameByEmail(String email) {
+        UserDirectoryEntry local = userDirectory.findByEmail(email).orElse(null);
+        if (local != null && local.getFullName() != null) {
+            return local.getFullName();
+        }
         try {
-            String url = authServiceUrl + "/api/v1/auth/users/email/" + email;
-            Map<String, Object> response = restTemplate.getForObject(url, Map.class);
-            if (response != null && response.get("data") instanceof Map dataMap) {
-                Object nameObj = dataMap.get("name");
-                return nameObj != null ? nameObj.toString() : "Approver";
-            }
-            return "Approver";
+            String name = userProfileCache.get(email, UserProfileCache.FULL_NAME_BY_EMAIL, () -> {
+                try {
+                    String url = authServiceUrl + "/api/v1/auth/users/email/" + email;
+                    Map<String, Object> response = remote("GET " + url,
+                            () -> restTemplate.getForObject(url, Map.class));
+                    if (response != null && response.get("data") instanceof Map dataMap) {
+                        Object nameObj = dataMap.get("name");
+                        return nameObj != null ? nameObj.toString() : null;
+                    }
+                    return null;
+                } catch (HttpClientErrorException.NotFound e) {
+                    return null;
+                }
+            });
+            return name != null ? name : "Approver";
         } catch (Exception e) {
             log.error("Failed to fetch full name for email {}: {}", email, e.getMessage());
             return "Approver";
         }
     }
+
+    /**
+     * Resolves full profiles for a set of users. Profiles already held in the
+     * cache are served locally; the rest are requested from the auth service in
+     * chunks of {@code auth.service.batch-size}. Users of chunks whose bulk call
+     * failed or timed out are then looked up one by one, as a second round with
+     * its own {@code auth.service.lookup.fallback-timeout} budget. Users the auth
+     * service does not know are absent from the returned map.
+     */
+    public Map<String, UserProfileDto> getUserProfiles(Collection<String> userIds) {
+        Map<String, UserProfileDto> profiles = new HashMap<>();
+        List<String> missing = new ArrayList<>();
+
+        for (String userId : new LinkedHashSet<>(userIds)) {
+            if (userId == null) {
+                continue;
+            }
+            UserProfileDto cached = cachedProfile(userId);
+            if (cached != null) {
+                profiles.put(userId, cached);
+            } else {
+                missing.add(userId);
+            }
+        }
+
+        int batchSize = Math.max(1, authServiceProperties.getBatchSize());
+        List<List<String>> chunks = new ArrayList<>();
+        for (int from = 0; from < missing.size(); from += batchSize) {
+            chunks.add(missing.subList(from, Math.min(from + batchSize, missing.size())));
+        }
+        Map<List<String>, List<UserProfileDto>> fetched = lookupAll(chunks, this::fetchProfiles);
+        List<String> unresolved = new ArrayList<>();
+        for (List<String> chunk : chunks) {
+            List<UserProfileDto> found = fetched.get(chunk);
+            if (found != null) {
+                found.forEach(profile -> profiles.put(profile.getId(), profile));
+            } else {
+                unresolved.addAll(chunk);
+            }
+        }
+
+        if (!unresolved.isEmpty()) {
+            log.warn("Bulk profile lookup failed for {} users, falling back to single lookups", unresolved.size());
+            Map<String, UserProfileDto> single = lookupAll(unresolved, this::lookupProfile,
+                    authServiceProperties.getLookup().getFallbackTimeout());
+            profiles.putAll(single);
+            if (single.size() < unresolved.size()) {
+                log.warn("{} of {} users could not be resolved by single lookups",
+                        unresolved.size() - single.size(), unresolved.size());
+            }
+        }
+        return profiles;
+    }
+
+    /**
+     * Runs {@code lookup} for every distinct key concurrently on the bounded
+     * auth lookup executor and waits for all of them, so the caller pays roughly
+     * the latency of the slowest call. Lookups that fail, return {@code null} or
+     * exceed {@code auth.service.lookup.timeout} are left out of the result;
+     * failed and timed-out ones are logged and counted in
+     * {@code auth.client.lookup.dropped}. Must not be called from a lookup
+     * running on the same executor.
+     */
+    public <K, T> Map<K, T> lookupAll(Collection<K> keys, Function<K, T> lookup) {
+        return lookupAll(keys, lookup, authServiceProperties.getLookup().getTimeout());
+    }
+
+    private <K, T> Map<K, T> lookupAll(Collection<K> keys, Function<K, T> lookup, Duration timeout) {
+        long timeoutMillis = timeout.toMillis();
+        Map<K, CompletableFuture<T>> futures = new LinkedHashMap<>();
+        for (K key : new LinkedHashSet<>(keys)) {
+            futures.put(key, CompletableFuture.supplyAsync(() -> lookup.apply(key), authLookupExecutor)
+                    .orTimeout(timeoutMillis, TimeUnit.MILLISECONDS)
+                    .exceptionally(ex -> {
+                        Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+                        if (cause instanceof TimeoutException) {
+                            log.warn("Concurrent auth lookup for {} timed out after {} ms", key, timeoutMillis);
+                        } else {
+                            log.warn("Concurrent auth lookup failed for {}: {}", key, cause.getMessage());
+                        }
+                        meterRegistry.counter("auth.client.lookup.dropped").increment();
+                        return null;
+                    }));
+        }
+
+        return meterRegistry.timer("auth.client.fanout").record(() -> {
+            Map<K, T> results = new LinkedHashMap<>();
+            futures.forEach((key, future) -> {
+                T value = future.join();
+                if (value != null) {
+                    results.put(key, value);
+                }
+            });
+            return results;
+        });
+    }
+
+    private List<UserProfileDto> fetchProfiles(List<String> userIds) {
+        String url = authServiceUrl + "/api/v1/auth/users/profiles";
+        ResponseEntity<Map<String, List<UserProfileDto>>> response = authServiceGuard.call(() -> restTemplate.exchange(
+                url,
+                HttpMethod.POST,
+                new HttpEntity<>(Map.of("ids", userIds)),
+                new ParameterizedTypeReference<Map<String, List<UserProfileDto>>>() {}
+        ));
+        List<UserProfileDto> profiles = response.getBody() != null
+                ? response.getBody().getOrDefault("data", List.of())
+                : List.of();
+        List<UserProfileDto> result = profiles.stream()
+                .filter(Objects::nonNull)
+                .filter(profile -> profile.getId() != null)
+                .peek(profile -> profile.setRole(normalizeRole(profile.getRole())))
+                .toList();
+        result.forEach(this::cacheProfile);
+        return result;
+    }
+
+    private UserProfileDto lookupProfile(String userId) {
+        String email = getUserEmail(userId);
+        String fullName = getUserFullName(userId);
+        if (email == null && fullName == null) {
+            return null;
+        }
+        return UserProfileDto.builder()
+                .id(userId)
+                .fullName(fullName)
+                .email(email)
+                .department(getUserDepartment(userId))
+                .role(getUserRole(userId))
+                .avatar(getUserAvatar(userId))
+                .build();
+    }
+
+    private UserProfileDto cachedProfile(String userId) {
+        UserDirectoryEntry local = userDirectory.findById(userId).orElse(null);
+        if (local != null) {
+            return UserProfileDto.builder()
+                    .id(local.getUserId())
+                    .fullName(local.getFullName())
+                    .email(local.getEmail())
+                    .department(local.getDepartment())
+                    .country(local.getCountry())
+                    .role(local.getRole())
+                    .avatar(local.getAvatar())
+                    .build();
+        }
+
+        UserProfileCache.CachedValue fullName = userProfileCache.peek(userId, UserProfileCache.FULL_NAME);
+        UserProfileCache.CachedValue email = userProfileCache.peek(userId, UserProfileCache.EMAIL);
+        UserProfileCache.CachedValue department = userProfileCache.peek(userId, UserProfileCache.DEPARTMENT);
+        UserProfileCache.CachedValue role = userProfileCache.peek(userId, UserProfileCache.ROLE);
+        UserProfileCache.CachedValue avatar = userProfileCache.peek(userId, UserProfileCache.AVATAR);
+        if (fullName == null || email == null || department == null || role == null || avatar == null) {
+            return null;
+        }
+        return UserProfileDto.builder()
+                .id(userId)
+                .fullName(fullName.value())
+                .email(email.value())
+                .department(department.value())
+                .role(role.value())
+                .avatar(avatar.value())
+                .build();
+    }
+
+    private void cacheProfile(UserProfileDto profile) {
+        userProfileCache.put(profile.getId(), UserProfileCache.FULL_NAME, profile.getFullName());
+        userProfileCache.put(profile.getId(), UserProfileCache.EMAIL, profile.getEmail());
+        userProfileCache.put(profile.getId(), UserProfileCache.DEPARTMENT, profile.getDepartment());
+        userProfileCache.put(profile.getId(), UserProfileCache.ROLE, profile.getRole());
+        userProfileCache.put(profile.getId(), UserProfileCache.AVATAR, profile.getAvatar());
+        if (profile.getEmail() != null) {
+            userProfileCache.put(profile.getEmail(), UserProfileCache.ID, profile.getId());
+        }
+    }
+
+    /**
+     * Pages through {@code /api/v1/auth/users/directory}, returning either the
+     * full user population or, when {@code updatedSince} is given, the users
+     * changed or removed since then. Failures propagate to the caller.
+     */
+    public List<UserProfileDto> fetchDirectory(Instant updatedSince) {
+        int pageSize = Math.max(1, authServiceProperties.getDirectory().getPageSize());
+        List<UserProfileDto> profiles = new ArrayList<>();
+
+        for (int page = 0; ; page++) {
+            String url = authServiceUrl + "/api/v1/auth/users/directory?page=" + page + "&size=" + pageSize
+                    + (updatedSince != null ? "&updatedSince=" + updatedSince : "");
+            Map<String, List<UserProfileDto>> response = authServiceGuard.call(() -> restTemplate.exchange(
+                    url,
+                    HttpMethod.GET,
+                    null,
+                    new ParameterizedTypeReference<Map<String, List<UserProfileDto>>>() {}
+            ).getBody());
+            List<UserProfileDto> data = response != null ? response.getOrDefault("data", List.of()) : List.of();
+            profiles.addAll(data);
+            if (data.size() < pageSize) {
+                return profiles;
+            }
+        }
+    }
+
+    private List<String> localUserIdsByRole(String role) {
+        return userDirectory.findByRole(role).stream()
+                .map(UserDirectoryEntry::getUserId)
+                .toList();
+    }
+
+    private List<String> localEmailsByRole(String role) {
+        return userDirectory.findByRole(role).stream()
+                .map(UserDirectoryEntry::getEmail)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    private static String normalizeRole(String role) {
+        return role != null ? role.trim().toUpperCase().replace("ROLE_", "") : null;
+    }
+
+    /**
+     * Issues a remote call through the circuit breaker and bulkhead, sharing
+     * the result with any identical call already in flight.
+     */
+    private <T> T remote(String key, Supplier<T> call) {
+        return singleFlight.execute(key, () -> authServiceGuard.call(call));
+    }
+
+    /**
+     * Reads the {@code data} field of an auth-service envelope. A 404 is
+     * treated as "not found" and returned as {@code null} so the profile cache
+     * can remember the miss; any other failure propagates to the caller.
+     */
+    private String fetchData(String url) {
+        return remote("GET " + url, () -> {
+            try {
+                Map<String, Object> response = restTemplate.getForObject(url, Map.class);
+                return response != null ? (String) response.get("data") : null;
+            } catch (HttpClientErrorException.NotFound e) {
+                return null;
+            }
+        });
+    }
+
+    private String fetchString(String url) {
+        return remote("GET " + url, () -> {
+            try {
+                return restTemplate.getForObject(url, String.class);
+            } catch (HttpClientErrorException.NotFound e) {
+                return null;
+            }
+        });
+    }
 }
@@ -0,0 +1,80 @@
+package com.christabella.africahr.leavemanagement.service;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.Year;
+import java.util.BitSet;
+import java.util.Collection;
+
+/**
+ * Immutable business-day calendar for one year. Bit {@code d} is set when day-of-year
+ * {@code d + 1} is neither a weekend nor a public holiday, and {@code prefix[d]} holds the
+ * number of business days before it, so any range count is two array reads.
+ */
+public final class WorkingDayCalendar {
+
+    private final int year;
+    private final BitSet businessDays;
+    private final int[] prefix;
+
+    private WorkingDayCalendar(int year, BitSet businessDays, int[] prefix) {
+        this.year = year;
+        this.businessDays = businessDays;
+        this.prefix = prefix;
+    }
+
+    public static WorkingDayCalendar build(int year, Collection<LocalDate> holidays) {
+        int length = Year.of(year).length();
+        BitSet businessDays = new BitSet(length);
+
+        LocalDate date = LocalDate.ofYearDay(year, 1);
+        for (int day = 0; day < length; day++, date = date.plusDays(1)) {
+            DayOfWeek dayOfWeek = date.getDayOfWeek();
+            if (dayOfWeek != DayOfWeek.SATURDAY && dayOfWeek != DayOfWeek.SUNDAY) {
+                businessDays.set(day);
+            }
+        }
+        for (LocalDate holiday : holidays) {
+            if (holiday != null && holiday.getYear() == year) {
+                businessDays.clear(holiday.getDayOfYear() - 1);
+            }
+        }
+
+        int[] prefix = new int[length + 1];
+        for (int day = 0; day < length; day++) {
+            prefix[day + 1] = prefix[day] + (businessDays.get(day) ? 1 : 0);
+        }
+        return new WorkingDayCalendar(year, businessDays, prefix);
+    }
+
+    public int getYear() {
+        return year;
+    }
+
+    public boolean isBusinessDay(LocalDate date) {
+        checkYear(date);
+        return businessDays.get(date.getDayOfYear() - 1);
+    }
+
+    /**
+     * Business days between {@code start} and {@code end}, both inclusive and within this year.
+     */
+    public int countBetween(LocalDate start, LocalDate end) {
+        checkYear(start);
+        checkYear(end);
+        if (start.isAfter(end)) {
+            return 0;
+        }
+        return prefix[end.getDayOfYear()] - prefix[start.getDayOfYear() - 1];
+    }
+
+    public int totalBusinessDays() {
+        return prefix[prefix.length - 1];
+    }
+
+    private void checkYear(LocalDate date) {
+        if (date.getYear() != year) {
+            throw new IllegalArgumentException("Date " + date + " is outside calendar year " + year);
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.christabella.africahr.leavemanagement.dto;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LeaveDaysSerializerTest {
+
+    @Test
+    void rendersWholeDaysWithoutDecimalsAndOthersWithOne() {
+        assertThat(LeaveDaysSerializer.format(new BigDecimal("20.00"))).isEqualTo("20");
+        assertThat(LeaveDaysSerializer.format(new BigDecimal("11.66"))).isEqualTo("11.7");
+        assertThat(LeaveDaysSerializer.format(new BigDecimal("3.50"))).isEqualTo("3.5");
+        assertThat(LeaveDaysSerializer.format(new BigDecimal("-1.25"))).isEqualTo("-1.3");
+        assertThat(LeaveDaysSerializer.format(new BigDecimal("0.00"))).isEqualTo("0");
+        assertThat(LeaveDaysSerializer.format(null)).isNull();
+    }
+}
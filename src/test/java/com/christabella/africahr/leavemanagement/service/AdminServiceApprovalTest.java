@@ -0,0 +1,159 @@
+package com.christabella.africahr.leavemanagement.service;
+
+import com.christabella.africahr.leavemanagement.entity.LeaveBalance;
+import com.christabella.africahr.leavemanagement.entity.LeaveRequest;
+import com.christabella.africahr.leavemanagement.entity.LeaveType;
+import com.christabella.africahr.leavemanagement.enums.LeaveStatus;
+import com.christabella.africahr.leavemanagement.exception.BadRequestException;
+import com.christabella.africahr.leavemanagement.exception.LeaveBalanceExceededException;
+import com.christabella.africahr.leavemanagement.repository.LeaveBalanceRepository;
+import com.christabella.africahr.leavemanagement.repository.LeaveRequestRepository;
+import com.christabella.africahr.leavemanagement.repository.LeaveTypeRepository;
+import com.christabella.africahr.leavemanagement.support.EmbeddedPostgres;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+@EmbeddedPostgres
+@Import({AdminService.class, LeaveBalanceService.class, LeaveBalanceLedger.class})
+class AdminServiceApprovalTest {
+
+    private static final int CONCURRENCY = 4;
+
+    @Autowired
+    private AdminService adminService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private LeaveTypeRepository leaveTypeRepository;
+    @Autowired
+    private LeaveBalanceRepository leaveBalanceRepository;
+    @Autowired
+    private LeaveRequestRepository leaveRequestRepository;
+
+    @MockitoBean
+    private LeaveService leaveService;
+    @MockitoBean
+    private UserServiceClient userServiceClient;
+    @MockitoBean
+    private EmailService emailService;
+    @MockitoBean
+    private NotificationService notificationService;
+
+    private LeaveType annual;
+    private LeaveBalance balance;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.execute("""
+                TRUNCATE leave_balance_ledger, leave_balance, leave_request, leave_type RESTART IDENTITY CASCADE
+                """);
+        annual = leaveTypeRepository.save(LeaveType.builder().name("Annual Leave").defaultBalance(20).build());
+        balance = leaveBalanceRepository.save(LeaveBalance.builder()
+                .userId("user-1").userEmail("user-1@example.com").leaveType(annual)
+                .year(LocalDate.now().getYear())
+                .defaultBalance(new BigDecimal("5.00")).remainingLeave(new BigDecimal("5.00"))
+                .build());
+        when(leaveService.calculateBusinessDays(anyString(), any(), any())).thenReturn(3L);
+    }
+
+    @Test
+    void approvesARequestOnceWhenApprovedConcurrently() throws Exception {
+        LeaveRequest request = pending();
+
+        List<Object> outcomes = concurrently(() -> adminService.approve(request.getId(), "Enjoy"));
+
+        assertThat(outcomes).filteredOn(LeaveRequest.class::isInstance).hasSize(1);
+        assertThat(outcomes).filteredOn(BadRequestException.class::isInstance).hasSize(CONCURRENCY - 1);
+        assertThat(remaining()).isEqualByComparingTo("2.00");
+        assertThat(approvalMovements()).isEqualTo(1);
+    }
+
+    @Test
+    void neverOverdrawsTheBalanceAcrossConcurrentRequests() throws Exception {
+        List<Long> requestIds = new ArrayList<>();
+        for (int i = 0; i < CONCURRENCY; i++) {
+            requestIds.add(pending().getId());
+        }
+        CountDownLatch ready = new CountDownLatch(CONCURRENCY);
+        List<CompletableFuture<Object>> calls = new ArrayList<>();
+        for (Long requestId : requestIds) {
+            calls.add(call(ready, () -> adminService.approve(requestId, "Enjoy")));
+        }
+        List<Object> outcomes = join(calls);
+
+        assertThat(outcomes).filteredOn(LeaveRequest.class::isInstance).hasSize(1);
+        assertThat(outcomes).filteredOn(LeaveBalanceExceededException.class::isInstance).hasSize(CONCURRENCY - 1);
+        assertThat(remaining()).isEqualByComparingTo("2.00");
+        assertThat(approvalMovements()).isEqualTo(1);
+        // The claim of a request whose deduction failed is rolled back with it
+        assertThat(leaveRequestRepository.findByStatus(LeaveStatus.PENDING)).hasSize(CONCURRENCY - 1);
+    }
+
+    private List<Object> concurrently(Supplier<Object> call) throws Exception {
+        CountDownLatch ready = new CountDownLatch(CONCURRENCY);
+        List<CompletableFuture<Object>> calls = new ArrayList<>();
+        for (int i = 0; i < CONCURRENCY; i++) {
+            calls.add(call(ready, call));
+        }
+        return join(calls);
+    }
+
+    private static CompletableFuture<Object> call(CountDownLatch ready, Supplier<Object> call) {
+        return CompletableFuture.supplyAsync(() -> {
+            ready.countDown();
+            try {
+                ready.await(5, TimeUnit.SECONDS);
+                return call.get();
+            } catch (RuntimeException e) {
+                return e;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return e;
+            }
+        }, runnable -> new Thread(runnable).start());
+    }
+
+    private static List<Object> join(List<CompletableFuture<Object>> calls) throws Exception {
+        List<Object> outcomes = new ArrayList<>();
+        for (CompletableFuture<Object> call : calls) {
+            outcomes.add(call.get(30, TimeUnit.SECONDS));
+        }
+        return outcomes;
+    }
+
+    private LeaveRequest pending() {
+        LocalDate start = LocalDate.now().withDayOfYear(1);
+        return leaveRequestRepository.save(LeaveRequest.builder()
+                .userId("user-1").email("user-1@example.com").leaveType(annual)
+                .startDate(start).endDate(start.plusDays(2)).reason("Vacation").status(LeaveStatus.PENDING)
+                .build());
+    }
+
+    private BigDecimal remaining() {
+        return jdbcTemplate.queryForObject("SELECT remaining_days FROM leave_balance WHERE id = ?",
+                BigDecimal.class, balance.getId());
+    }
+
+    private long approvalMovements() {
+        return jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM leave_balance_ledger WHERE movement_type = 'APPROVAL'", Long.class);
+    }
+}
@@ -0,0 +1,74 @@
+package com.christabella.africahr.leavemanagement.service;
+
+import com.christabella.africahr.leavemanagement.Config.AuthServiceProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ApproverRosterServiceTest {
+
+    private UserServiceClient userServiceClient;
+    private AuthServiceProperties properties;
+    private ApproverRosterService rosterService;
+
+    @BeforeEach
+    void setUp() {
+        userServiceClient = mock(UserServiceClient.class);
+        when(userServiceClient.getManagerEmails()).thenAnswer(invocation -> {
+            Thread.sleep(200);
+            return List.of("manager@africahr.test");
+        });
+        when(userServiceClient.getAdminEmails()).thenReturn(List.of("admin@africahr.test"));
+        when(userServiceClient.lookupAll(any(), any())).thenReturn(Map.of("manager@africahr.test", "Ama Manager"));
+        properties = new AuthServiceProperties();
+        rosterService = new ApproverRosterService(userServiceClient, new TaskExecutorAdapter(Runnable::run),
+                properties, new SingleFlight(new SimpleMeterRegistry()));
+    }
+
+    @Test
+    void concurrentFirstCallsWaitForOneLoad() {
+        ExecutorService callers = Executors.newFixedThreadPool(8);
+        try {
+            List<CompletableFuture<ApproverRosterService.Roster>> calls = IntStream.range(0, 8)
+                    .mapToObj(i -> CompletableFuture.supplyAsync(rosterService::getRoster, callers))
+                    .toList();
+            calls.forEach(call -> assertThat(call.join().emails())
+                    .containsExactlyInAnyOrder("manager@africahr.test", "admin@africahr.test"));
+        } finally {
+            callers.shutdownNow();
+        }
+
+        verify(userServiceClient, times(1)).getManagerEmails();
+    }
+
+    @Test
+    void refreshesAheadOfTheRefreshInterval() throws InterruptedException {
+        properties.getRoster().setRefreshInterval(Duration.ofMillis(400));
+        properties.getRoster().setRefreshAhead(0.25);
+        ApproverRosterService.Roster first = rosterService.getRoster();
+
+        assertThat(rosterService.getRoster()).isSameAs(first);
+        Thread.sleep(150);
+        rosterService.getRoster();
+
+        verify(userServiceClient, times(2)).getManagerEmails();
+        assertThat(rosterService.getRoster()).isNotSameAs(first);
+        assertThat(rosterService.getRoster().nameOf("manager@africahr.test")).isEqualTo("Ama Manager");
+    }
+}
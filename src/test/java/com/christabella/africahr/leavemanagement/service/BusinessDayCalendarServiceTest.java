@@ -0,0 +1,59 @@
+package com.christabella.africahr.leavemanagement.service;
+
+import com.christabella.africahr.leavemanagement.entity.PublicHoliday;
+import com.christabella.africahr.leavemanagement.repository.PublicHolidayRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BusinessDayCalendarServiceTest {
+
+    @Test
+    void batchLoadsHolidaysOnceAndMatchesSingleRangeCounts() {
+        PublicHolidayRepository repository = mock(PublicHolidayRepository.class);
+        when(repository.findAll()).thenReturn(List.of(
+                new PublicHoliday(1L, LocalDate.of(2024, 12, 25), "Christmas Day", null, "RW"),
+                new PublicHoliday(2L, LocalDate.of(2025, 1, 1), "New Year's Day", null, "RW"),
+                new PublicHoliday(3L, LocalDate.of(2025, 1, 7), "Orthodox Christmas", null, "ET")));
+
+        List<BusinessDayCalendarService.DateRange> ranges = List.of(
+                new BusinessDayCalendarService.DateRange(LocalDate.of(2024, 12, 23), LocalDate.of(2025, 1, 3)),
+                new BusinessDayCalendarService.DateRange(LocalDate.of(2025, 1, 6), LocalDate.of(2025, 1, 10)),
+                new BusinessDayCalendarService.DateRange(LocalDate.of(2025, 1, 10), LocalDate.of(2025, 1, 6)));
+
+        BusinessDayCalendarService service = new BusinessDayCalendarService(repository, new UserDirectory(), "rw");
+        long[] counts = service.countBusinessDays(ranges);
+
+        assertThat(counts).containsExactly(8, 5, 0);
+        for (int i = 0; i < ranges.size(); i++) {
+            assertThat(service.countBusinessDays(ranges.get(i).start(), ranges.get(i).end())).isEqualTo(counts[i]);
+        }
+        verify(repository, times(1)).findAll();
+    }
+
+    @Test
+    void eachCountryUsesItsOwnHolidaysAndSwapsOnChange() {
+        PublicHolidayRepository repository = mock(PublicHolidayRepository.class);
+        when(repository.findAll()).thenReturn(List.of(
+                new PublicHoliday(1L, LocalDate.of(2025, 1, 7), "Orthodox Christmas", null, "ET")));
+        BusinessDayCalendarService service = new BusinessDayCalendarService(repository, new UserDirectory(), "RW");
+        LocalDate start = LocalDate.of(2025, 1, 6);
+        LocalDate end = LocalDate.of(2025, 1, 10);
+
+        assertThat(service.countBusinessDays("ET", start, end)).isEqualTo(4);
+        assertThat(service.countBusinessDays("RW", start, end)).isEqualTo(5);
+        assertThat(service.countBusinessDaysForUser("unknown-user", start, end)).isEqualTo(5);
+
+        when(repository.findAll()).thenReturn(List.of());
+        service.onHolidaysChanged(PublicHolidaysChangedEvent.of(List.of(LocalDate.of(2025, 1, 7))));
+
+        assertThat(service.countBusinessDays("et", start, end)).isEqualTo(5);
+    }
+}
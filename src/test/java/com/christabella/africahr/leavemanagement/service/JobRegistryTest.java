@@ -0,0 +1,56 @@
+package com.christabella.africahr.leavemanagement.service;
+
+import com.christabella.africahr.leavemanagement.enums.JobStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JobRegistryTest {
+
+    @Test
+    void tracksProgressAndAllowsOneActiveJobPerType() {
+        List<Runnable> queued = new ArrayList<>();
+        JobRegistry registry = new JobRegistry(new TaskExecutorAdapter(queued::add), Duration.ofHours(1));
+
+        JobRegistry.TrackedJob job = registry.submit("init", tracked -> {
+            tracked.setTotal(3);
+            tracked.addProcessed(2);
+            tracked.addFailed(1);
+            return "done";
+        });
+        JobRegistry.TrackedJob duplicate = registry.submit("init", tracked -> "never");
+
+        assertThat(duplicate).isSameAs(job);
+        assertThat(queued).hasSize(1);
+        assertThat(registry.find(job.getId())).map(JobRegistry.TrackedJob::getStatus).contains(JobStatus.PENDING);
+
+        queued.get(0).run();
+
+        assertThat(job.toDto()).satisfies(dto -> {
+            assertThat(dto.getStatus()).isEqualTo(JobStatus.COMPLETED);
+            assertThat(dto.getTotal()).isEqualTo(3);
+            assertThat(dto.getProcessed()).isEqualTo(2);
+            assertThat(dto.getFailed()).isEqualTo(1);
+            assertThat(dto.getMessage()).isEqualTo("done");
+            assertThat(dto.getFinishedAt()).isNotNull();
+        });
+        assertThat(registry.submit("init", tracked -> "again")).isNotSameAs(job);
+    }
+
+    @Test
+    void recordsFailure() {
+        JobRegistry registry = new JobRegistry(new TaskExecutorAdapter(Runnable::run), Duration.ofHours(1));
+
+        JobRegistry.TrackedJob job = registry.submit("init", tracked -> {
+            throw new IllegalStateException("boom");
+        });
+
+        assertThat(job.getStatus()).isEqualTo(JobStatus.FAILED);
+        assertThat(job.toDto().getMessage()).isEqualTo("boom");
+    }
+}
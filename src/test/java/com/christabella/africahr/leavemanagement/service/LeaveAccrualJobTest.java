@@ -0,0 +1,124 @@
+package com.christabella.africahr.leavemanagement.service;
+
+import com.christabella.africahr.leavemanagement.entity.LeaveBalance;
+import com.christabella.africahr.leavemanagement.entity.LeaveType;
+import com.christabella.africahr.leavemanagement.repository.LeaveBalanceRepository;
+import com.christabella.africahr.leavemanagement.repository.LeaveTypeRepository;
+import com.christabella.africahr.leavemanagement.support.EmbeddedPostgres;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+@EmbeddedPostgres
+class LeaveAccrualJobTest {
+
+    private static final YearMonth MARCH = YearMonth.of(2026, 3);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private LeaveTypeRepository leaveTypeRepository;
+    @Autowired
+    private LeaveBalanceRepository leaveBalanceRepository;
+
+    private LeaveAccrualJob job;
+    private List<Long> annualIds;
+    private Long sickId;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.execute("TRUNCATE leave_balance_ledger, leave_balance, leave_type, job_checkpoint RESTART IDENTITY CASCADE");
+        LeaveType annual = leaveTypeRepository.save(LeaveType.builder().name("Annual Leave").defaultBalance(20).build());
+        LeaveType sick = leaveTypeRepository.save(LeaveType.builder().name("Sick Leave").defaultBalance(10).build());
+
+        annualIds = new ArrayList<>();
+        for (int i = 1; i <= 5; i++) {
+            annualIds.add(leaveBalanceRepository.save(balance("user-" + i, annual)).getId());
+        }
+        sickId = leaveBalanceRepository.save(balance("user-1", sick)).getId();
+
+        job = new LeaveAccrualJob(jdbcTemplate, new TransactionTemplate(transactionManager), leaveTypeRepository,
+                new JobCheckpoints(jdbcTemplate), mock(ApplicationEventPublisher.class), 2, Duration.ofMinutes(15));
+    }
+
+    @Test
+    void accruesEveryBalanceOnceAcrossChunksAndIgnoresRepeatRuns() {
+        assertThat(job.accrue(MARCH)).contains(5L);
+        assertThat(job.accrue(MARCH)).isEmpty();
+
+        assertThat(annualIds).allSatisfy(id -> assertThat(remaining(id)).isEqualByComparingTo("11.66"));
+        assertThat(remaining(sickId)).isEqualByComparingTo("10.00");
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM leave_balance_ledger WHERE movement_type = 'ACCRUAL'", Long.class))
+                .isEqualTo(5L);
+        assertThat(checkpointStatus("2026-03")).isEqualTo("COMPLETED");
+    }
+
+    @Test
+    void resumesFailedRunAfterLastCommittedChunk() {
+        insertCheckpoint("2026-03", "FAILED", annualIds.get(1), 2, Duration.ZERO);
+
+        assertThat(job.resumeUnfinished()).isEqualTo(1);
+
+        assertThat(remaining(annualIds.get(0))).isEqualByComparingTo("10.00");
+        assertThat(remaining(annualIds.get(1))).isEqualByComparingTo("10.00");
+        assertThat(annualIds.subList(2, 5)).allSatisfy(id -> assertThat(remaining(id)).isEqualByComparingTo("11.66"));
+        assertThat(checkpointStatus("2026-03")).isEqualTo("COMPLETED");
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT processed_count FROM job_checkpoint WHERE period_key = '2026-03'", Long.class))
+                .isEqualTo(5L);
+        assertThat(job.resumeUnfinished()).isZero();
+    }
+
+    @Test
+    void resumesOnlyRunsWhoseLeaseExpired() {
+        insertCheckpoint("2026-01", "RUNNING", 0, 0, Duration.ofHours(1));
+        insertCheckpoint("2026-02", "RUNNING", 0, 0, Duration.ZERO);
+
+        assertThat(job.resumeUnfinished()).isEqualTo(1);
+
+        assertThat(checkpointStatus("2026-01")).isEqualTo("COMPLETED");
+        assertThat(checkpointStatus("2026-02")).isEqualTo("RUNNING");
+    }
+
+    private static LeaveBalance balance(String userId, LeaveType type) {
+        return LeaveBalance.builder()
+                .userId(userId).userEmail(userId + "@example.com").leaveType(type).year(2026)
+                .defaultBalance(LeaveBalanceService.toDays(type.getDefaultBalance()))
+                .remainingLeave(new BigDecimal("10.00"))
+                .build();
+    }
+
+    private void insertCheckpoint(String period, String status, long lastProcessedId, long processed, Duration age) {
+        jdbcTemplate.update("""
+                INSERT INTO job_checkpoint (job_name, period_key, status, last_processed_id, processed_count,
+                        owner, started_at, updated_at)
+                VALUES (?, ?, ?, ?, ?, 'another-node', now(), now() - (? * INTERVAL '1 second'))
+                """, LeaveAccrualJob.JOB_NAME, period, status, lastProcessedId, processed, age.toSeconds());
+    }
+
+    private BigDecimal remaining(Long balanceId) {
+        return jdbcTemplate.queryForObject("SELECT remaining_days FROM leave_balance WHERE id = ?",
+                BigDecimal.class, balanceId);
+    }
+
+    private String checkpointStatus(String period) {
+        return jdbcTemplate.queryForObject("SELECT status FROM job_checkpoint WHERE job_name = ? AND period_key = ?",
+                String.class, LeaveAccrualJob.JOB_NAME, period);
+    }
+}
@@ -0,0 +1,136 @@
+package com.christabella.africahr.leavemanagement.service;
+
+import com.christabella.africahr.leavemanagement.Config.LeaveBalanceNumericMigration;
+import com.christabella.africahr.leavemanagement.Config.LeaveBalanceUniquenessMigration;
+import com.christabella.africahr.leavemanagement.entity.LeaveBalance;
+import com.christabella.africahr.leavemanagement.entity.LeaveType;
+import com.christabella.africahr.leavemanagement.enums.JobStatus;
+import com.christabella.africahr.leavemanagement.repository.LeaveBalanceRepository;
+import com.christabella.africahr.leavemanagement.repository.LeaveTypeRepository;
+import com.christabella.africahr.leavemanagement.support.EmbeddedPostgres;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@EmbeddedPostgres
+class LeaveBalanceInitializationJobTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private LeaveTypeRepository leaveTypeRepository;
+    @Autowired
+    private LeaveBalanceRepository leaveBalanceRepository;
+
+    private UserServiceClient userServiceClient;
+    private LeaveBalanceInitializationJob job;
+    private LeaveType annual;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.execute("TRUNCATE leave_balance_ledger, leave_balance, leave_type RESTART IDENTITY CASCADE");
+        annual = leaveTypeRepository.save(LeaveType.builder().name("Annual Leave").defaultBalance(20).build());
+        leaveTypeRepository.save(LeaveType.builder().name("Sick Leave").defaultBalance(10).build());
+
+        userServiceClient = mock(UserServiceClient.class);
+        TaskExecutorAdapter direct = new TaskExecutorAdapter(Runnable::run);
+        job = new LeaveBalanceInitializationJob(jdbcTemplate, new TransactionTemplate(transactionManager),
+                leaveTypeRepository, userServiceClient, new LeaveBalanceBatchWriter(jdbcTemplate),
+                new JobRegistry(direct, Duration.ofHours(1)), direct, mock(ApplicationEventPublisher.class), 10, 2);
+    }
+
+    @Test
+    void skipsBalancesOpenedConcurrently() {
+        when(userServiceClient.lookupAll(any(), any())).thenReturn(Map.of(
+                "STAFF", List.of("user-1", "user-2"), "MANAGER", List.of(), "ADMIN", List.of()));
+        LeaveBalanceBatchWriter writer = new LeaveBalanceBatchWriter(jdbcTemplate);
+        LeaveBalance firstVisit = balance("user-2", annual);
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> writer.insert(List.of(firstVisit)));
+        // user-2 already has a balance, so only user-1 is picked up; a second insert of user-2 is a no-op
+        List<LeaveBalance> inserted = new TransactionTemplate(transactionManager)
+                .execute(status -> writer.insert(List.of(balance("user-2", annual))));
+
+        JobRegistry.TrackedJob tracked = job.start(2026);
+
+        assertThat(inserted).isEmpty();
+        assertThat(tracked.getStatus()).isEqualTo(JobStatus.COMPLETED);
+        assertThat(count("SELECT COUNT(*) FROM leave_balance WHERE year = 2026")).isEqualTo(3);
+        assertThat(count("SELECT COUNT(*) FROM leave_balance_ledger")).isEqualTo(2);
+    }
+
+    @Test
+    void failsWhenARoleCannotBeListed() {
+        when(userServiceClient.lookupAll(any(), any())).thenReturn(Map.of(
+                "STAFF", List.of("user-1"), "ADMIN", List.of()));
+
+        JobRegistry.TrackedJob tracked = job.start(2026);
+
+        assertThat(tracked.getStatus()).isEqualTo(JobStatus.FAILED);
+        assertThat(tracked.toDto().getMessage()).contains("MANAGER");
+        assertThat(count("SELECT COUNT(*) FROM leave_balance")).isZero();
+    }
+
+    @Test
+    void migrationRemovesDuplicatesBeforeCreatingTheUniqueIndex() {
+        jdbcTemplate.execute("DROP INDEX uk_leave_balance_user_type_year");
+        LeaveBalance kept = leaveBalanceRepository.save(balance("user-1", annual));
+        LeaveBalance duplicate = leaveBalanceRepository.save(balance("user-1", annual));
+        jdbcTemplate.update("""
+                INSERT INTO leave_balance_ledger (balance_id, user_id, leave_type_id, year, movement_type,
+                        default_delta, carry_over_delta, used_delta, remaining_delta, remaining_after, created_at)
+                VALUES (?, 'user-1', ?, 2026, 'OPENING_BALANCE', 20, 0, 0, 20, 20, now())
+                """, duplicate.getId(), annual.getId());
+
+        new LeaveBalanceUniquenessMigration(jdbcTemplate, new TransactionTemplate(transactionManager)).run();
+
+        assertThat(jdbcTemplate.queryForList("SELECT id FROM leave_balance", Long.class)).containsExactly(kept.getId());
+        assertThat(count("SELECT COUNT(*) FROM leave_balance_ledger")).isZero();
+        assertThat(count("SELECT COUNT(*) FROM pg_indexes WHERE indexname = 'uk_leave_balance_user_type_year'"))
+                .isEqualTo(1);
+    }
+
+    @Test
+    void migrationConvertsDoubleDayColumnsToNumeric() {
+        LeaveBalance stored = leaveBalanceRepository.save(balance("user-1", annual));
+        jdbcTemplate.execute("ALTER TABLE leave_balance ALTER COLUMN used_leave TYPE DOUBLE PRECISION");
+        jdbcTemplate.update("UPDATE leave_balance SET used_leave = 0.1 + 0.2 WHERE id = ?", stored.getId());
+
+        new LeaveBalanceNumericMigration(jdbcTemplate).run();
+
+        assertThat(jdbcTemplate.queryForObject("""
+                SELECT data_type FROM information_schema.columns
+                WHERE table_name = 'leave_balance' AND column_name = 'used_leave'
+                """, String.class)).isEqualTo("numeric");
+        assertThat(jdbcTemplate.queryForObject("SELECT used_leave FROM leave_balance WHERE id = ?",
+                BigDecimal.class, stored.getId())).isEqualTo(new BigDecimal("0.30"));
+    }
+
+    private static LeaveBalance balance(String userId, LeaveType type) {
+        return LeaveBalance.builder()
+                .userId(userId).leaveType(type).year(2026)
+                .defaultBalance(LeaveBalanceService.toDays(type.getDefaultBalance()))
+                .remainingLeave(new BigDecimal("20.00"))
+                .build();
+    }
+
+    private long count(String sql) {
+        return jdbcTemplate.queryForObject(sql, Long.class);
+    }
+}
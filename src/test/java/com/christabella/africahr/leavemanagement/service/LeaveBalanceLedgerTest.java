@@ -0,0 +1,70 @@
+package com.christabella.africahr.leavemanagement.service;
+
+import com.christabella.africahr.leavemanagement.dto.BalanceAuditDto;
+import com.christabella.africahr.leavemanagement.entity.LeaveBalance;
+import com.christabella.africahr.leavemanagement.entity.LeaveBalanceMovement;
+import com.christabella.africahr.leavemanagement.entity.LeaveType;
+import com.christabella.africahr.leavemanagement.enums.BalanceMovementType;
+import com.christabella.africahr.leavemanagement.repository.LeaveBalanceMovementRepository;
+import com.christabella.africahr.leavemanagement.repository.LeaveBalanceRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class LeaveBalanceLedgerTest {
+
+    @Test
+    void replayingRecordedMovementsReproducesStoredTotals() {
+        LeaveBalanceMovementRepository movements = mock(LeaveBalanceMovementRepository.class);
+        LeaveBalanceRepository balances = mock(LeaveBalanceRepository.class);
+        List<LeaveBalanceMovement> saved = new ArrayList<>();
+        when(movements.save(any())).thenAnswer(invocation -> {
+            saved.add(invocation.getArgument(0));
+            return invocation.getArgument(0);
+        });
+        LeaveBalanceLedger ledger = new LeaveBalanceLedger(movements, balances, mock(ApplicationEventPublisher.class));
+
+        LeaveBalance balance = LeaveBalance.builder()
+                .id(7L).userId("user-1").year(2025)
+                .leaveType(LeaveType.builder().id(3L).name("Annual Leave").defaultBalance(20).build())
+                .defaultBalance(new BigDecimal("20.00")).remainingLeave(new BigDecimal("20.00"))
+                .build();
+        ledger.recordOpening(balance, "Initial allocation");
+
+        LeaveBalanceLedger.Totals before = LeaveBalanceLedger.Totals.of(balance);
+        balance.setRemainingLeave(new BigDecimal("21.66"));
+        ledger.record(balance, before, BalanceMovementType.ACCRUAL, null, "Monthly accrual");
+
+        before = LeaveBalanceLedger.Totals.of(balance);
+        balance.setUsedLeave(new BigDecimal("3.00"));
+        balance.setRemainingLeave(new BigDecimal("18.66"));
+        ledger.record(balance, before, BalanceMovementType.APPROVAL, 42L, "Approved 3 business day(s)");
+
+        before = LeaveBalanceLedger.Totals.of(balance);
+        ledger.record(balance, before, BalanceMovementType.MANUAL_ADJUSTMENT, null, "No-op");
+
+        assertThat(saved).extracting(LeaveBalanceMovement::getMovementType).containsExactly(
+                BalanceMovementType.OPENING_BALANCE, BalanceMovementType.ACCRUAL, BalanceMovementType.APPROVAL);
+        assertThat(saved.get(2).getRemainingDelta()).isEqualByComparingTo("-3");
+        assertThat(saved.get(2).getLeaveRequestId()).isEqualTo(42L);
+
+        when(movements.findByUserIdAndYearOrderByIdAsc("user-1", 2025)).thenReturn(saved);
+        when(balances.findByUserIdAndYear("user-1", 2025)).thenReturn(List.of(balance));
+        BalanceAuditDto audit = ledger.audit("user-1", 2025).get(0);
+
+        assertThat(audit.isConsistent()).isTrue();
+        assertThat(audit.getReplayedRemaining()).isEqualByComparingTo("18.66");
+        assertThat(audit.getReplayedUsed()).isEqualByComparingTo("3");
+
+        balance.setRemainingLeave(new BigDecimal("25.00"));
+        assertThat(ledger.audit("user-1", 2025).get(0).isConsistent()).isFalse();
+    }
+}
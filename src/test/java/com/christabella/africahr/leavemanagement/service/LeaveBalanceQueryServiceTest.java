@@ -0,0 +1,174 @@
+package com.christabella.africahr.leavemanagement.service;
+
+import com.christabella.africahr.leavemanagement.dto.LeaveBalanceDto;
+import com.christabella.africahr.leavemanagement.entity.LeaveBalance;
+import com.christabella.africahr.leavemanagement.entity.LeaveType;
+import com.christabella.africahr.leavemanagement.repository.LeaveBalanceRepository;
+import com.christabella.africahr.leavemanagement.repository.LeaveRequestRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class LeaveBalanceQueryServiceTest {
+
+    @Test
+    void servesCachedViewUntilBalanceChanges() {
+        int year = LocalDate.now().getYear();
+        LeaveBalance balance = LeaveBalance.builder()
+                .id(1L).userId("user-1").year(year)
+                .leaveType(LeaveType.builder().id(3L).name("Annual Leave").defaultBalance(20).build())
+                .defaultBalance(new BigDecimal("20.00")).remainingLeave(new BigDecimal("20.00"))
+                .build();
+        LeaveBalanceRepository repository = mock(LeaveBalanceRepository.class);
+        LeaveBalanceService leaveBalanceService = mock(LeaveBalanceService.class);
+        when(repository.findByUserIdAndYear("user-1", year)).thenReturn(List.of(balance));
+        LeaveBalanceQueryService service =
+                newService(repository, mock(LeaveRequestRepository.class), leaveBalanceService);
+
+        LeaveBalanceQueryService.BalanceView first = service.getBalances("user-1");
+        LeaveBalanceQueryService.BalanceView second = service.getBalances("user-1");
+
+        assertThat(second).isSameAs(first);
+        assertThat(first.balances()).singleElement()
+                .satisfies(dto -> assertThat(dto.getRemainingLeave()).isEqualTo("20"));
+        verify(repository, times(1)).findByUserIdAndYear("user-1", year);
+        verify(leaveBalanceService, never()).initializeLeaveBalanceForUser(anyString(), anyInt());
+
+        balance.setRemainingLeave(new BigDecimal("17.00"));
+        service.onBalanceChanged(new LeaveBalanceChangedEvent("user-1", year));
+        LeaveBalanceQueryService.BalanceView third = service.getBalances("user-1");
+
+        assertThat(third.etag()).isNotEqualTo(first.etag());
+        assertThat(third.balances().get(0).getRemainingLeave()).isEqualTo("17");
+    }
+
+    @Test
+    void initializesFirstVisitOutsideTheCacheLoader() {
+        int year = LocalDate.now().getYear();
+        LeaveBalance balance = LeaveBalance.builder()
+                .id(1L).userId("user-1").year(year)
+                .leaveType(LeaveType.builder().id(3L).name("Annual Leave").defaultBalance(20).build())
+                .defaultBalance(new BigDecimal("20.00")).remainingLeave(new BigDecimal("20.00"))
+                .build();
+        LeaveBalanceRepository repository = mock(LeaveBalanceRepository.class);
+        LeaveBalanceService leaveBalanceService = mock(LeaveBalanceService.class);
+        when(repository.findByUserIdAndYear("user-1", year)).thenReturn(List.of(), List.of(balance));
+        AtomicReference<LeaveBalanceQueryService> service = new AtomicReference<>();
+        // Committing the initialization publishes events that invalidate the key on this thread
+        doAnswer(invocation -> {
+            service.get().onBalanceChanged(new LeaveBalanceChangedEvent("user-1", year));
+            return null;
+        }).when(leaveBalanceService).initializeLeaveBalanceForUser("user-1", year);
+        service.set(newService(repository, mock(LeaveRequestRepository.class), leaveBalanceService));
+
+        LeaveBalanceQueryService.BalanceView first = service.get().getBalances("user-1");
+        LeaveBalanceQueryService.BalanceView second = service.get().getBalances("user-1");
+
+        assertThat(first.balances()).singleElement()
+                .satisfies(dto -> assertThat(dto.getRemainingLeave()).isEqualTo("20"));
+        assertThat(second).isSameAs(first);
+        verify(leaveBalanceService, times(1)).initializeLeaveBalanceForUser("user-1", year);
+        verify(repository, times(2)).findByUserIdAndYear("user-1", year);
+    }
+
+    @Test
+    void readsTeamBalancesTogetherAndCachesThem() {
+        int year = LocalDate.now().getYear();
+        LeaveType annual = LeaveType.builder().id(3L).name("Annual Leave").defaultBalance(20).build();
+        LeaveBalanceRepository repository = mock(LeaveBalanceRepository.class);
+        LeaveRequestRepository requests = mock(LeaveRequestRepository.class);
+        when(repository.findByUserIdInAndYear(anyCollection(), anyInt())).thenReturn(List.of(
+                LeaveBalance.builder().id(1L).userId("user-1").year(year).leaveType(annual)
+                        .defaultBalance(new BigDecimal("20.00")).usedLeave(new BigDecimal("3.00"))
+                        .remainingLeave(new BigDecimal("17.00")).build(),
+                LeaveBalance.builder().id(2L).userId("user-2").year(year).leaveType(annual)
+                        .defaultBalance(new BigDecimal("20.00")).remainingLeave(new BigDecimal("20.00")).build()));
+        when(requests.sumApprovedBusinessDays(anyCollection(), any(), any(), any())).thenReturn(List.of(
+                approvedDays("user-1", 3L, 3)));
+        LeaveBalanceQueryService service = newService(repository, requests, mock(LeaveBalanceService.class));
+
+        Map<String, List<LeaveBalanceDto>> team = service.getTeamBalances(List.of("user-1", "user-2", "user-3"));
+
+        assertThat(team).containsOnlyKeys("user-1", "user-2", "user-3");
+        assertThat(team.get("user-1")).singleElement().satisfies(dto -> {
+            assertThat(dto.getRemainingLeave()).isEqualTo("17");
+            assertThat(dto.getApprovedDays()).isEqualTo(3);
+        });
+        assertThat(team.get("user-2")).singleElement()
+                .satisfies(dto -> assertThat(dto.getApprovedDays()).isZero());
+        assertThat(team.get("user-3")).isEmpty();
+
+        when(repository.findByUserIdAndYear("user-1", year)).thenThrow(new AssertionError("should be cached"));
+        assertThat(service.getBalances("user-1").balances()).isEqualTo(team.get("user-1"));
+        verify(repository, times(1)).findByUserIdInAndYear(anyCollection(), anyInt());
+    }
+
+    @Test
+    void recountsApprovedDaysAfterAHolidayChange() {
+        int year = LocalDate.now().getYear();
+        LeaveType annual = LeaveType.builder().id(3L).name("Annual Leave").defaultBalance(20).build();
+        LeaveBalanceRepository repository = mock(LeaveBalanceRepository.class);
+        LeaveRequestRepository requests = mock(LeaveRequestRepository.class);
+        when(repository.findByUserIdAndYear("user-1", year)).thenReturn(List.of(
+                LeaveBalance.builder().id(1L).userId("user-1").year(year).leaveType(annual)
+                        .defaultBalance(new BigDecimal("20.00")).remainingLeave(new BigDecimal("20.00")).build()));
+        when(requests.sumApprovedBusinessDays(anyCollection(), any(), any(), any()))
+                .thenReturn(List.of(approvedDays("user-1", 3L, 5)), List.of(approvedDays("user-1", 3L, 4)));
+        LeaveBalanceQueryService service = newService(repository, requests, mock(LeaveBalanceService.class));
+
+        LeaveBalanceQueryService.BalanceView before = service.getBalances("user-1");
+        service.onHolidaysChanged(PublicHolidaysChangedEvent.of(List.of(LocalDate.of(year, 3, 4))));
+        LeaveBalanceQueryService.BalanceView after = service.getBalances("user-1");
+
+        assertThat(before.balances().get(0).getApprovedDays()).isEqualTo(5);
+        assertThat(after.balances().get(0).getApprovedDays()).isEqualTo(4);
+        assertThat(after.etag()).isNotEqualTo(before.etag());
+    }
+
+    private static LeaveBalanceQueryService newService(LeaveBalanceRepository repository,
+                                                       LeaveRequestRepository requests,
+                                                       LeaveBalanceService leaveBalanceService) {
+        BusinessDayCalendarService calendars = mock(BusinessDayCalendarService.class);
+        when(calendars.getDefaultCountry()).thenReturn("RW");
+        return new LeaveBalanceQueryService(repository, requests, leaveBalanceService, calendars,
+                mock(PlatformTransactionManager.class), new SimpleMeterRegistry(), 100, Duration.ofMinutes(10));
+    }
+
+    private static LeaveRequestRepository.ApprovedDays approvedDays(String userId, Long leaveTypeId, long days) {
+        return new LeaveRequestRepository.ApprovedDays() {
+            @Override
+            public String getUserId() {
+                return userId;
+            }
+
+            @Override
+            public Long getLeaveTypeId() {
+                return leaveTypeId;
+            }
+
+            @Override
+            public long getDays() {
+                return days;
+            }
+        };
+    }
+}
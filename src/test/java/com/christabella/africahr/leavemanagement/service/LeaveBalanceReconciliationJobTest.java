@@ -0,0 +1,160 @@
+package com.christabella.africahr.leavemanagement.service;
+
+import com.christabella.africahr.leavemanagement.dto.BalanceDriftDto;
+import com.christabella.africahr.leavemanagement.dto.ReconciliationReportDto;
+import com.christabella.africahr.leavemanagement.entity.LeaveBalance;
+import com.christabella.africahr.leavemanagement.entity.LeaveRequest;
+import com.christabella.africahr.leavemanagement.entity.LeaveType;
+import com.christabella.africahr.leavemanagement.entity.PublicHoliday;
+import com.christabella.africahr.leavemanagement.enums.LeaveStatus;
+import com.christabella.africahr.leavemanagement.repository.LeaveBalanceRepository;
+import com.christabella.africahr.leavemanagement.repository.LeaveRequestRepository;
+import com.christabella.africahr.leavemanagement.repository.LeaveTypeRepository;
+import com.christabella.africahr.leavemanagement.repository.PublicHolidayRepository;
+import com.christabella.africahr.leavemanagement.support.EmbeddedPostgres;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@EmbeddedPostgres
+class LeaveBalanceReconciliationJobTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private LeaveTypeRepository leaveTypeRepository;
+    @Autowired
+    private LeaveBalanceRepository leaveBalanceRepository;
+    @Autowired
+    private LeaveRequestRepository leaveRequestRepository;
+    @Autowired
+    private PublicHolidayRepository publicHolidayRepository;
+
+    private LeaveType annual;
+    private LeaveBalance drifted;
+    private LeaveBalance adjusted;
+    private LeaveBalance inSync;
+    private LeaveBalanceReconciliationJob job;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.execute("""
+                TRUNCATE leave_balance_ledger, leave_balance, leave_request, leave_type, public_holiday,
+                        user_directory RESTART IDENTITY CASCADE
+                """);
+        annual = leaveTypeRepository.save(LeaveType.builder().name("Annual Leave").defaultBalance(20).build());
+        publicHolidayRepository.save(PublicHoliday.builder()
+                .date(LocalDate.of(2026, 3, 4)).name("Heroes Day").country("RW").build());
+
+        // Monday to Friday with a holiday on Wednesday: 4 business days
+        drifted = save("user-1", "0.00", false);
+        approve("user-1", LocalDate.of(2026, 3, 2), LocalDate.of(2026, 3, 6));
+        adjusted = save("user-2", "0.00", true);
+        approve("user-2", LocalDate.of(2026, 3, 9), LocalDate.of(2026, 3, 10));
+        inSync = save("user-3", "3.00", false);
+        approve("user-3", LocalDate.of(2026, 3, 11), LocalDate.of(2026, 3, 13));
+        approve("user-4", LocalDate.of(2026, 3, 16), LocalDate.of(2026, 3, 16));
+
+        BusinessDayCalendarService calendar = mock(BusinessDayCalendarService.class);
+        when(calendar.getDefaultCountry()).thenReturn("RW");
+        TaskExecutorAdapter direct = new TaskExecutorAdapter(Runnable::run);
+        job = new LeaveBalanceReconciliationJob(jdbcTemplate, transactionManager, calendar,
+                new JobRegistry(direct, Duration.ofHours(1)), direct, mock(ApplicationEventPublisher.class),
+                10, 2, 100);
+    }
+
+    @Test
+    void reportsDriftWithoutChangingBalances() {
+        ReconciliationReportDto report = run(false);
+
+        assertThat(report.getDrifted()).isEqualTo(3);
+        assertThat(report.getMissingBalances()).isEqualTo(1);
+        assertThat(report.getManuallyAdjusted()).isEqualTo(1);
+        assertThat(report.getApplied()).isZero();
+        assertThat(report.getEntries())
+                .extracting(BalanceDriftDto::getBalanceId, BalanceDriftDto::getUserId, BalanceDriftDto::getExpectedUsed)
+                .containsExactlyInAnyOrder(
+                        tuple(drifted.getId(), "user-1", 4L),
+                        tuple(adjusted.getId(), "user-2", 2L),
+                        tuple(null, "user-4", 1L));
+        assertThat(row(drifted.getId())).containsEntry("used_leave", new BigDecimal("0.00"));
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM leave_balance_ledger", Long.class)).isZero();
+    }
+
+    @Test
+    void countsTheSameBusinessDaysAsTheBalanceQuery() {
+        assertThat(leaveRequestRepository.sumApprovedBusinessDays(List.of("user-1", "user-2"),
+                LocalDate.of(2026, 1, 1), LocalDate.of(2026, 12, 31), "RW"))
+                .extracting(LeaveRequestRepository.ApprovedDays::getUserId,
+                        LeaveRequestRepository.ApprovedDays::getDays)
+                .containsExactlyInAnyOrder(tuple("user-1", 4L), tuple("user-2", 2L));
+    }
+
+    @Test
+    void correctsDriftedBalancesAndRecordsReconciliation() {
+        ReconciliationReportDto report = run(true);
+
+        assertThat(report.getApplied()).isEqualTo(1);
+        assertThat(row(drifted.getId()))
+                .containsEntry("used_leave", new BigDecimal("4.00"))
+                .containsEntry("remaining_days", new BigDecimal("16.00"));
+        assertThat(row(adjusted.getId())).containsEntry("used_leave", new BigDecimal("0.00"));
+        assertThat(row(inSync.getId())).containsEntry("used_leave", new BigDecimal("3.00"));
+
+        Map<String, Object> movement = jdbcTemplate.queryForMap("""
+                SELECT balance_id, movement_type, used_delta, remaining_delta, remaining_after
+                FROM leave_balance_ledger
+                """);
+        assertThat(movement)
+                .containsEntry("balance_id", drifted.getId())
+                .containsEntry("movement_type", "RECONCILIATION");
+        assertThat((BigDecimal) movement.get("used_delta")).isEqualByComparingTo("4");
+        assertThat((BigDecimal) movement.get("remaining_delta")).isEqualByComparingTo("-4");
+        assertThat((BigDecimal) movement.get("remaining_after")).isEqualByComparingTo("16");
+
+        assertThat(run(true).getApplied()).isZero();
+    }
+
+    private ReconciliationReportDto run(boolean apply) {
+        return (ReconciliationReportDto) job.start(2026, apply).toDto().getResult();
+    }
+
+    private LeaveBalance save(String userId, String used, boolean manuallyAdjusted) {
+        BigDecimal usedLeave = new BigDecimal(used);
+        return leaveBalanceRepository.save(LeaveBalance.builder()
+                .userId(userId).userEmail(userId + "@example.com").leaveType(annual).year(2026)
+                .defaultBalance(new BigDecimal("20.00")).usedLeave(usedLeave)
+                .remainingLeave(new BigDecimal("20.00").subtract(usedLeave))
+                .manuallyAdjusted(manuallyAdjusted)
+                .build());
+    }
+
+    private void approve(String userId, LocalDate start, LocalDate end) {
+        leaveRequestRepository.save(LeaveRequest.builder()
+                .userId(userId).email(userId + "@example.com").leaveType(annual)
+                .startDate(start).endDate(end).reason("Vacation").status(LeaveStatus.APPROVED)
+                .build());
+    }
+
+    private Map<String, Object> row(Long balanceId) {
+        return jdbcTemplate.queryForMap("SELECT used_leave, remaining_days FROM leave_balance WHERE id = ?",
+                balanceId);
+    }
+}
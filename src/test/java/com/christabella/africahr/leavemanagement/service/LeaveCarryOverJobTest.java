@@ -0,0 +1,156 @@
+package com.christabella.africahr.leavemanagement.service;
+
+import com.christabella.africahr.leavemanagement.entity.LeaveBalance;
+import com.christabella.africahr.leavemanagement.entity.LeaveType;
+import com.christabella.africahr.leavemanagement.repository.LeaveBalanceRepository;
+import com.christabella.africahr.leavemanagement.repository.LeaveTypeRepository;
+import com.christabella.africahr.leavemanagement.support.EmbeddedPostgres;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+
+@EmbeddedPostgres
+class LeaveCarryOverJobTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private LeaveTypeRepository leaveTypeRepository;
+    @Autowired
+    private LeaveBalanceRepository leaveBalanceRepository;
+
+    private LeaveType annual;
+    private LeaveBalanceBatchWriter batchWriter;
+    private LeaveCarryOverJob job;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.execute("TRUNCATE leave_balance_ledger, leave_balance, leave_type, job_checkpoint RESTART IDENTITY CASCADE");
+        annual = leaveTypeRepository.save(LeaveType.builder().name("Annual Leave").defaultBalance(20).build());
+        batchWriter = spy(new LeaveBalanceBatchWriter(jdbcTemplate));
+        job = new LeaveCarryOverJob(jdbcTemplate, new TransactionTemplate(transactionManager), leaveTypeRepository,
+                batchWriter, new JobCheckpoints(jdbcTemplate), mock(ApplicationEventPublisher.class), 2,
+                Duration.ofMinutes(15));
+    }
+
+    @Test
+    void carriesOverRelativeToStoredRemainingAndIsIdempotent() {
+        save("user-1", 2025, "0.00", "8.00");
+        save("user-2", 2025, "0.00", "3.00");
+        LeaveBalance existing = save("user-1", 2026, "2.00", "18.00");
+
+        assertThat(job.carryOver(2026)).contains(2L);
+        assertThat(job.carryOver(2026)).isEmpty();
+
+        assertThat(row(existing.getId())).containsEntry("carry_over", new BigDecimal("5.00"));
+        assertThat((BigDecimal) row(existing.getId()).get("remaining_days")).isEqualByComparingTo("23.00");
+        Long opened = balanceId("user-2", 2026);
+        assertThat(row(opened)).containsEntry("carry_over", new BigDecimal("3.00"));
+        assertThat((BigDecimal) row(opened).get("remaining_days")).isEqualByComparingTo("23.00");
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM leave_balance_ledger WHERE movement_type = 'CARRY_OVER'", Long.class))
+                .isEqualTo(2L);
+    }
+
+    @Test
+    void resumesFailedRunAfterLastCommittedChunk() {
+        LeaveBalance first = save("user-1", 2025, "0.00", "8.00");
+        save("user-2", 2025, "0.00", "4.00");
+        jdbcTemplate.update("""
+                INSERT INTO job_checkpoint (job_name, period_key, status, last_processed_id, processed_count,
+                        owner, started_at, updated_at)
+                VALUES (?, '2026', 'FAILED', ?, 1, 'another-node', now(), now())
+                """, LeaveCarryOverJob.JOB_NAME, first.getId());
+
+        assertThat(job.resumeUnfinished()).isEqualTo(1);
+
+        assertThat(balanceId("user-1", 2026)).isNull();
+        assertThat(row(balanceId("user-2", 2026))).containsEntry("carry_over", new BigDecimal("4.00"));
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT status FROM job_checkpoint WHERE job_name = ? AND period_key = '2026'",
+                String.class, LeaveCarryOverJob.JOB_NAME)).isEqualTo("COMPLETED");
+    }
+
+    @Test
+    void keepsApprovalCommittedBetweenReadAndWrite() {
+        save("user-1", 2025, "0.00", "8.00");
+        LeaveBalance target = save("user-1", 2026, "2.00", "18.00");
+        AtomicBoolean approved = new AtomicBoolean();
+        doAnswer(invocation -> {
+            if (approved.compareAndSet(false, true)) {
+                CompletableFuture.runAsync(() -> jdbcTemplate.update("""
+                        UPDATE leave_balance SET used_leave = used_leave + 3, remaining_days = remaining_days - 3
+                        WHERE id = ?
+                        """, target.getId())).join();
+            }
+            return invocation.callRealMethod();
+        }).when(batchWriter).applyCarryOver(anyList());
+
+        assertThat(job.carryOver(2026)).contains(1L);
+
+        Map<String, Object> row = row(target.getId());
+        assertThat(row).containsEntry("used_leave", new BigDecimal("5.00"))
+                .containsEntry("carry_over", new BigDecimal("5.00"));
+        assertThat((BigDecimal) row.get("remaining_days")).isEqualByComparingTo("20.00");
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT remaining_after FROM leave_balance_ledger WHERE movement_type = 'CARRY_OVER'",
+                BigDecimal.class)).isEqualByComparingTo("20.00");
+    }
+
+    @Test
+    void carriesOverIntoBalanceOpenedConcurrently() {
+        save("user-1", 2025, "0.00", "4.00");
+        AtomicBoolean opened = new AtomicBoolean();
+        doAnswer(invocation -> {
+            if (opened.compareAndSet(false, true)) {
+                CompletableFuture.runAsync(() -> save("user-1", 2026, "1.00", "19.00")).join();
+            }
+            return invocation.callRealMethod();
+        }).when(batchWriter).insert(anyList());
+
+        assertThat(job.carryOver(2026)).contains(1L);
+
+        Long target = balanceId("user-1", 2026);
+        assertThat(row(target)).containsEntry("used_leave", new BigDecimal("1.00"))
+                .containsEntry("carry_over", new BigDecimal("4.00"));
+        assertThat((BigDecimal) row(target).get("remaining_days")).isEqualByComparingTo("23.00");
+        assertThat(jdbcTemplate.queryForList("SELECT movement_type FROM leave_balance_ledger", String.class))
+                .containsExactly("CARRY_OVER");
+    }
+
+    private LeaveBalance save(String userId, int year, String used, String remaining) {
+        return leaveBalanceRepository.save(LeaveBalance.builder()
+                .userId(userId).userEmail(userId + "@example.com").leaveType(annual).year(year)
+                .defaultBalance(new BigDecimal("20.00")).usedLeave(new BigDecimal(used))
+                .remainingLeave(new BigDecimal(remaining))
+                .build());
+    }
+
+    private Long balanceId(String userId, int year) {
+        return jdbcTemplate.query("SELECT id FROM leave_balance WHERE user_id = ? AND year = ?",
+                rs -> rs.next() ? rs.getLong(1) : null, userId, year);
+    }
+
+    private Map<String, Object> row(Long balanceId) {
+        return jdbcTemplate.queryForMap(
+                "SELECT used_leave, remaining_days, carry_over FROM leave_balance WHERE id = ?", balanceId);
+    }
+}
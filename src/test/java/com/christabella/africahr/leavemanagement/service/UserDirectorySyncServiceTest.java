@@ -0,0 +1,90 @@
+package com.christabella.africahr.leavemanagement.service;
+
+import com.christabella.africahr.leavemanagement.Config.AuthServiceProperties;
+import com.christabella.africahr.leavemanagement.dto.UserProfileDto;
+import com.christabella.africahr.leavemanagement.entity.UserDirectoryEntry;
+import com.christabella.africahr.leavemanagement.repository.UserDirectoryRepository;
+import com.christabella.africahr.leavemanagement.support.EmbeddedPostgres;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@EmbeddedPostgres
+class UserDirectorySyncServiceTest {
+
+    private static final Instant T0 = Instant.parse("2026-10-01T08:00:00Z");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private UserDirectoryRepository userDirectoryRepository;
+
+    private UserServiceClient userServiceClient;
+    private UserDirectory userDirectory;
+    private UserDirectorySyncService syncService;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.execute("TRUNCATE user_directory");
+        userServiceClient = mock(UserServiceClient.class);
+        userDirectory = new UserDirectory();
+        syncService = new UserDirectorySyncService(userDirectoryRepository, userDirectory, userServiceClient,
+                new AuthServiceProperties(), new TransactionTemplate(transactionManager), jdbcTemplate);
+
+        when(userServiceClient.fetchDirectory(null)).thenReturn(List.of(
+                profile("u1", "Ama", T0, false),
+                profile("u2", "Kofi", T0.plusSeconds(10), false)));
+        syncService.fullSync();
+    }
+
+    @Test
+    void upsertsChangedUsersInPlace() {
+        when(userServiceClient.fetchDirectory(any())).thenReturn(List.of(
+                profile("u2", "Kofi Mensah", T0.plusSeconds(20), false),
+                profile("u3", "Esi", T0.plusSeconds(30), false)));
+
+        syncService.incrementalSync();
+
+        assertThat(userDirectoryRepository.findAll())
+                .extracting(UserDirectoryEntry::getUserId, UserDirectoryEntry::getFullName)
+                .containsExactlyInAnyOrder(
+                        tuple("u1", "Ama"),
+                        tuple("u2", "Kofi Mensah"),
+                        tuple("u3", "Esi"));
+        assertThat(userDirectory.findById("u2")).map(UserDirectoryEntry::getFullName).contains("Kofi Mensah");
+        assertThat(userDirectory.getWatermark()).isEqualTo(T0.plusSeconds(30));
+    }
+
+    @Test
+    void advancesTheWatermarkPastABatchOfOnlyRemovals() {
+        when(userServiceClient.fetchDirectory(any())).thenReturn(List.of(
+                profile("u2", null, T0.plusSeconds(60), true)));
+
+        syncService.incrementalSync();
+
+        assertThat(userDirectoryRepository.findAll()).extracting(UserDirectoryEntry::getUserId).containsExactly("u1");
+        assertThat(userDirectory.findById("u2")).isEmpty();
+        assertThat(userDirectory.getWatermark()).isEqualTo(T0.plusSeconds(60));
+    }
+
+    private static UserProfileDto profile(String id, String fullName, Instant updatedAt, boolean deleted) {
+        return UserProfileDto.builder()
+                .id(id).fullName(fullName).email(id + "@africahr.test").role("STAFF")
+                .updatedAt(updatedAt).deleted(deleted)
+                .build();
+    }
+}
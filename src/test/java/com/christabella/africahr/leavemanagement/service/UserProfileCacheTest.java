@@ -0,0 +1,40 @@
+package com.christabella.africahr.leavemanagement.service;
+
+import com.christabella.africahr.leavemanagement.Config.AuthServiceProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.ResourceAccessException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class UserProfileCacheTest {
+
+    private final UserProfileCache cache = new UserProfileCache(new AuthServiceProperties(), new SimpleMeterRegistry());
+
+    @Test
+    void invalidatesTheUsersAttributesAndEmailLookupsOnly() {
+        cacheProfile("user-1", "ama@africahr.test", "Ama");
+        cacheProfile("user-2", "kofi@africahr.test", "Kofi");
+
+        cache.invalidate("user-1");
+
+        assertThat(cache.peek("user-1", UserProfileCache.FULL_NAME)).isNull();
+        assertThat(cache.peek("user-1", UserProfileCache.EMAIL)).isNull();
+        assertThat(cache.peek("ama@africahr.test", UserProfileCache.ID)).isNull();
+        assertThat(cache.peek("ama@africahr.test", UserProfileCache.FULL_NAME_BY_EMAIL)).isNull();
+        assertThat(cache.peek("user-2", UserProfileCache.FULL_NAME)).isNotNull();
+        assertThat(cache.peek("kofi@africahr.test", UserProfileCache.ID)).isNotNull();
+        // The last known good value is gone as well, so a failed reload is not answered with it
+        assertThatThrownBy(() -> cache.get("user-1", UserProfileCache.FULL_NAME, () -> {
+            throw new ResourceAccessException("auth service down");
+        })).isInstanceOf(ResourceAccessException.class);
+    }
+
+    private void cacheProfile(String userId, String email, String fullName) {
+        cache.put(userId, UserProfileCache.FULL_NAME, fullName);
+        cache.put(userId, UserProfileCache.EMAIL, email);
+        cache.put(email, UserProfileCache.ID, userId);
+        cache.put(email, UserProfileCache.FULL_NAME_BY_EMAIL, fullName);
+    }
+}
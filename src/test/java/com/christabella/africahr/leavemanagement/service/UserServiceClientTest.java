@@ -0,0 +1,147 @@
+package com.christabella.africahr.leavemanagement.service;
+
+import com.christabella.africahr.leavemanagement.Config.AppConfig;
+import com.christabella.africahr.leavemanagement.Config.AuthServiceProperties;
+import com.christabella.africahr.leavemanagement.dto.UserProfileDto;
+import com.christabella.africahr.leavemanagement.support.AuthServiceStub;
+import com.christabella.africahr.leavemanagement.support.LatencyProfile;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UserServiceClientTest {
+
+    private AuthServiceStub stub;
+    private AuthServiceProperties properties;
+    private MeterRegistry meterRegistry;
+    private UserServiceClient client;
+
+    @BeforeEach
+    void setUp() {
+        stub = new AuthServiceStub(500).start();
+        properties = new AuthServiceProperties();
+        properties.setBaseUrl(stub.getBaseUrl());
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() {
+        stub.close();
+    }
+
+    private UserServiceClient newClient() {
+        AppConfig appConfig = new AppConfig();
+        RestTemplate restTemplate = appConfig.restTemplate(
+                appConfig.authConnectionManager(properties, meterRegistry), properties);
+        UserServiceClient userServiceClient = new UserServiceClient(
+                restTemplate,
+                new UserProfileCache(properties, meterRegistry),
+                properties,
+                appConfig.authLookupExecutor(properties, meterRegistry),
+                meterRegistry,
+                new SingleFlight(meterRegistry),
+                new AuthServiceGuard(properties, meterRegistry),
+                new UserDirectory());
+        ReflectionTestUtils.setField(userServiceClient, "authServiceUrl", stub.getBaseUrl());
+        return userServiceClient;
+    }
+
+    @Test
+    void bulkLookupFetchesProfilesInChunksAndWarmsTheCache() {
+        client = newClient();
+        List<String> userIds = stub.getUserIds();
+
+        Map<String, UserProfileDto> profiles = client.getUserProfiles(userIds);
+
+        assertThat(profiles).hasSize(500);
+        assertThat(stub.getRequestCount("/profiles")).isEqualTo(3);
+
+        stub.resetCounters();
+        assertThat(client.getUserEmail(userIds.get(42))).isEqualTo(profiles.get(userIds.get(42)).getEmail());
+        assertThat(client.getUserRole(userIds.get(0))).isEqualTo("ADMIN");
+        assertThat(stub.getTotalRequests()).isZero();
+    }
+
+    @Test
+    void fallsBackToSingleLookupsWhenTheBulkEndpointFails() {
+        stub.withBulkProfilesUnavailable();
+        properties.setBatchSize(20);
+        client = newClient();
+        List<String> userIds = stub.getUserIds().subList(0, 50);
+
+        Map<String, UserProfileDto> profiles = client.getUserProfiles(userIds);
+
+        assertThat(profiles).hasSize(50);
+        assertThat(profiles.get(userIds.get(5)).getEmail()).isEqualTo("user5@africahr.test");
+        assertThat(meterRegistry.counter("auth.client.lookup.dropped").count()).isEqualTo(3);
+    }
+
+    @Test
+    void countsLookupsDroppedByTheTimeout() {
+        properties.getLookup().setTimeout(Duration.ofMillis(100));
+        client = newClient();
+
+        Map<Integer, Integer> results = client.lookupAll(List.of(1, 2, 3), key -> {
+            if (key == 3) {
+                try {
+                    Thread.sleep(1_000);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return key;
+        });
+
+        assertThat(results).containsOnlyKeys(1, 2);
+        assertThat(meterRegistry.counter("auth.client.lookup.dropped").count()).isEqualTo(1);
+    }
+
+    @Test
+    void concurrentIdenticalLookupsShareOneRequest() {
+        stub.withLatency(LatencyProfile.fixed(Duration.ofMillis(200)));
+        client = newClient();
+        String userId = stub.getUserIds().get(7);
+
+        ExecutorService callers = Executors.newFixedThreadPool(16);
+        try {
+            List<CompletableFuture<String>> calls = IntStream.range(0, 16)
+                    .mapToObj(i -> CompletableFuture.supplyAsync(() -> client.getUserEmail(userId), callers))
+                    .toList();
+            calls.forEach(call -> assertThat(call.join()).isEqualTo("user7@africahr.test"));
+        } finally {
+            callers.shutdownNow();
+        }
+
+        assertThat(stub.getRequestCount("/{id}/email")).isEqualTo(1);
+        assertThat(meterRegistry.counter("auth.client.coalesced").count()).isEqualTo(15);
+    }
+
+    @Test
+    void servesLastKnownGoodValueWhileTheAuthServiceFails() throws InterruptedException {
+        properties.getCache().setTtl(Duration.ofMillis(50));
+        client = newClient();
+        String userId = stub.getUserIds().get(3);
+
+        assertThat(client.getUserFullName(userId)).isEqualTo("User 3");
+        Thread.sleep(100);
+        stub.withErrorRate(1.0);
+
+        assertThat(client.getUserFullName(userId)).isEqualTo("User 3");
+        assertThat(client.getUserFullName(stub.getUserIds().get(4))).isNull();
+        assertThat(meterRegistry.counter("auth.client.stale.served").count()).isEqualTo(1);
+    }
+}
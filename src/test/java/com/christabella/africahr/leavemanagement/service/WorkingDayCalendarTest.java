@@ -0,0 +1,54 @@
+package com.christabella.africahr.leavemanagement.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WorkingDayCalendarTest {
+
+    private static final List<LocalDate> HOLIDAYS = List.of(
+            LocalDate.of(2024, 2, 29),
+            LocalDate.of(2024, 12, 25),
+            LocalDate.of(2024, 12, 28));
+
+    @Test
+    void rangeCountsMatchDayByDayWalk() {
+        WorkingDayCalendar calendar = WorkingDayCalendar.build(2024, HOLIDAYS);
+
+        LocalDate first = LocalDate.of(2024, 1, 1);
+        for (int i = 0; i < 366; i += 7) {
+            for (int j = i; j < 366; j += 11) {
+                LocalDate start = first.plusDays(i);
+                LocalDate end = first.plusDays(j);
+                assertThat((long) calendar.countBetween(start, end)).as(start + ".." + end).isEqualTo(walk(start, end));
+            }
+        }
+        assertThat((long) calendar.totalBusinessDays()).isEqualTo(walk(first, LocalDate.of(2024, 12, 31)));
+    }
+
+    @Test
+    void holidaysAndWeekendsAreNotBusinessDays() {
+        WorkingDayCalendar calendar = WorkingDayCalendar.build(2024, HOLIDAYS);
+
+        assertThat(calendar.isBusinessDay(LocalDate.of(2024, 2, 29))).isFalse();
+        assertThat(calendar.isBusinessDay(LocalDate.of(2024, 3, 2))).isFalse();
+        assertThat(calendar.isBusinessDay(LocalDate.of(2024, 3, 1))).isTrue();
+        assertThat(calendar.countBetween(LocalDate.of(2024, 3, 5), LocalDate.of(2024, 3, 4))).isZero();
+    }
+
+    private static long walk(LocalDate start, LocalDate end) {
+        long days = 0;
+        for (LocalDate date = start; !date.isAfter(end); date = date.plusDays(1)) {
+            if (date.getDayOfWeek() != DayOfWeek.SATURDAY
+                    && date.getDayOfWeek() != DayOfWeek.SUNDAY
+                    && !HOLIDAYS.contains(date)) {
+                days++;
+            }
+        }
+        return days;
+    }
+}
@@ -0,0 +1,308 @@
+package com.christabella.africahr.leavemanagement.support;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * In-process stand-in for the auth service, serving every endpoint that
+ * {@code UserServiceClient} calls over a synthetic population of users.
+ * Latency, error rate and hanging requests can be tuned (also while running)
+ * so latency, load and resilience behaviour can be exercised offline.
+ */
+public class AuthServiceStub implements AutoCloseable {
+
+    private static final String PREFIX = "/api/v1/auth/users";
+    private static final String[] DEPARTMENTS = {"Engineering", "Finance", "Operations", "People", "Sales"};
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .findAndRegisterModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    private final Map<String, User> usersById = new LinkedHashMap<>();
+    private final Map<String, User> usersByEmail = new HashMap<>();
+    private final Map<String, LongAdder> requestCounts = new ConcurrentHashMap<>();
+    private final AtomicLong totalRequests = new AtomicLong();
+
+    private volatile LatencyProfile latency = LatencyProfile.none();
+    private volatile double errorRate;
+    private volatile double hangRate;
+    private volatile Duration hangDuration = Duration.ofSeconds(30);
+    private volatile boolean bulkProfilesUnavailable;
+
+    private HttpServer server;
+    private ExecutorService executor;
+
+    public record User(String id, String fullName, String email, String department, String role, String avatar,
+                       Instant updatedAt) {
+    }
+
+    public AuthServiceStub(int population) {
+        Instant now = Instant.now();
+        for (int i = 0; i < population; i++) {
+            String role = i % 20 == 0 ? "ADMIN" : i % 5 == 0 ? "MANAGER" : "STAFF";
+            User user = new User(
+                    UUID.nameUUIDFromBytes(("user-" + i).getBytes(StandardCharsets.UTF_8)).toString(),
+                    "User " + i,
+                    "user" + i + "@africahr.test",
+                    DEPARTMENTS[i % DEPARTMENTS.length],
+                    role,
+                    "https://avatars.africahr.test/" + i + ".png",
+                    now);
+            usersById.put(user.id(), user);
+            usersByEmail.put(user.email().toLowerCase(Locale.ROOT), user);
+        }
+    }
+
+    public AuthServiceStub start() {
+        try {
+            server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to start auth service stub", e);
+        }
+        executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "auth-stub");
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.createContext(PREFIX, this::handle);
+        server.setExecutor(executor);
+        server.start();
+        return this;
+    }
+
+    @Override
+    public void close() {
+        if (server != null) {
+            server.stop(0);
+            executor.shutdownNow();
+        }
+    }
+
+    public String getBaseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    public AuthServiceStub withLatency(LatencyProfile latency) {
+        this.latency = Objects.requireNonNull(latency);
+        return this;
+    }
+
+    /** Fraction of requests (0..1) answered with 503. */
+    public AuthServiceStub withErrorRate(double errorRate) {
+        this.errorRate = errorRate;
+        return this;
+    }
+
+    /** Fraction of requests (0..1) that hang for {@code hangDuration} before answering, to trip client timeouts. */
+    public AuthServiceStub withHangRate(double hangRate, Duration hangDuration) {
+        this.hangRate = hangRate;
+        this.hangDuration = hangDuration;
+        return this;
+    }
+
+    /** Answers every {@code POST /profiles} with 503 while single-user endpoints keep working. */
+    public AuthServiceStub withBulkProfilesUnavailable() {
+        this.bulkProfilesUnavailable = true;
+        return this;
+    }
+
+    public Collection<User> getUsers() {
+        return usersById.values();
+    }
+
+    public List<String> getUserIds() {
+        return new ArrayList<>(usersById.keySet());
+    }
+
+    public long getTotalRequests() {
+        return totalRequests.get();
+    }
+
+    /** Requests served for a path pattern such as {@code /{id}/email} or {@code /profiles}. */
+    public long getRequestCount(String endpoint) {
+        LongAdder count = requestCounts.get(endpoint);
+        return count != null ? count.sum() : 0;
+    }
+
+    public void resetCounters() {
+        requestCounts.clear();
+        totalRequests.set(0);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            totalRequests.incrementAndGet();
+            String path = exchange.getRequestURI().getPath().substring(PREFIX.length());
+            Map<String, String> query = parseQuery(exchange.getRequestURI().getRawQuery());
+
+            sleep(latency.next());
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            if (hangRate > 0 && random.nextDouble() < hangRate) {
+                sleep(hangDuration);
+            }
+            if (errorRate > 0 && random.nextDouble() < errorRate) {
+                count("error");
+                send(exchange, 503, "Service Unavailable", "text/plain");
+                return;
+            }
+
+            route(exchange, path, query);
+        }
+    }
+
+    private void route(HttpExchange exchange, String path, Map<String, String> query) throws IOException {
+        String[] parts = path.split("/");
+        // parts[0] is the empty segment before the leading slash
+
+        if (path.equals("/profiles") && exchange.getRequestMethod().equals("POST")) {
+            count("/profiles");
+            if (bulkProfilesUnavailable) {
+                send(exchange, 503, "Service Unavailable", "text/plain");
+                return;
+            }
+            Map<?, ?> body = objectMapper.readValue(exchange.getRequestBody(), Map.class);
+            List<Map<String, Object>> profiles = ((List<?>) body.get("ids")).stream()
+                    .map(id -> usersById.get(String.valueOf(id)))
+                    .filter(Objects::nonNull)
+                    .map(this::profile)
+                    .toList();
+            sendJson(exchange, Map.of("data", profiles));
+        } else if (path.equals("/directory")) {
+            count("/directory");
+            int page = Integer.parseInt(query.getOrDefault("page", "0"));
+            int size = Integer.parseInt(query.getOrDefault("size", "1000"));
+            Instant since = query.containsKey("updatedSince") ? Instant.parse(query.get("updatedSince")) : null;
+            List<Map<String, Object>> profiles = usersById.values().stream()
+                    .filter(user -> since == null || user.updatedAt().isAfter(since))
+                    .skip((long) page * size)
+                    .limit(size)
+                    .map(this::profile)
+                    .toList();
+            sendJson(exchange, Map.of("data", profiles));
+        } else if (path.equals("/id")) {
+            count("/id");
+            User user = usersByEmail.get(query.getOrDefault("email", "").toLowerCase(Locale.ROOT));
+            sendData(exchange, user != null ? user.id() : null);
+        } else if (parts.length == 3 && parts[1].equals("email")) {
+            count("/email/{email}");
+            User user = usersByEmail.get(parts[2].toLowerCase(Locale.ROOT));
+            sendData(exchange, user != null ? Map.of("name", user.fullName(), "email", user.email()) : null);
+        } else if (parts.length >= 3 && parts[1].equals("role")) {
+            String role = parts[2].toUpperCase(Locale.ROOT);
+            boolean emails = parts.length == 4 && parts[3].equals("emails");
+            count(emails ? "/role/{role}/emails" : "/role/{role}");
+            String department = query.get("department");
+            List<String> result = usersById.values().stream()
+                    .filter(user -> user.role().equals(role))
+                    .filter(user -> department == null || department.equalsIgnoreCase(user.department()))
+                    .map(user -> emails ? user.email() : user.id())
+                    .toList();
+            sendJson(exchange, result);
+        } else if (parts.length == 3) {
+            User user = usersById.get(parts[1]);
+            String attribute = parts[2];
+            count("/{id}/" + attribute);
+            if (user == null) {
+                send(exchange, 404, "User not found", "text/plain");
+                return;
+            }
+            switch (attribute) {
+                case "fullname" -> sendData(exchange, user.fullName());
+                case "email" -> sendData(exchange, user.email());
+                case "department" -> sendData(exchange, user.department());
+                case "role" -> send(exchange, 200, "ROLE_" + user.role(), "text/plain");
+                case "avatar" -> send(exchange, 200, user.avatar(), "text/plain");
+                default -> send(exchange, 404, "Unknown attribute", "text/plain");
+            }
+        } else {
+            count("unmatched");
+            send(exchange, 404, "No stub for " + path, "text/plain");
+        }
+    }
+
+    private Map<String, Object> profile(User user) {
+        Map<String, Object> profile = new LinkedHashMap<>();
+        profile.put("id", user.id());
+        profile.put("fullName", user.fullName());
+        profile.put("email", user.email());
+        profile.put("department", user.department());
+        profile.put("role", "ROLE_" + user.role());
+        profile.put("avatar", user.avatar());
+        profile.put("updatedAt", user.updatedAt());
+        return profile;
+    }
+
+    private void sendData(HttpExchange exchange, Object data) throws IOException {
+        if (data == null) {
+            send(exchange, 404, "User not found", "text/plain");
+            return;
+        }
+        sendJson(exchange, Map.of("success", true, "data", data));
+    }
+
+    private void sendJson(HttpExchange exchange, Object body) throws IOException {
+        send(exchange, 200, objectMapper.writeValueAsString(body), "application/json");
+    }
+
+    private void send(HttpExchange exchange, int status, String body, String contentType) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private void count(String endpoint) {
+        requestCounts.computeIfAbsent(endpoint, key -> new LongAdder()).increment();
+    }
+
+    private static Map<String, String> parseQuery(String rawQuery) {
+        if (rawQuery == null || rawQuery.isEmpty()) {
+            return Map.of();
+        }
+        return Arrays.stream(rawQuery.split("&"))
+                .map(pair -> pair.split("=", 2))
+                .collect(Collectors.toMap(
+                        pair -> URLDecoder.decode(pair[0], StandardCharsets.UTF_8),
+                        pair -> pair.length > 1 ? URLDecoder.decode(pair[1], StandardCharsets.UTF_8) : "",
+                        (a, b) -> b));
+    }
+
+    private static void sleep(Duration duration) {
+        if (duration.isZero() || duration.isNegative()) {
+            return;
+        }
+        try {
+            Thread.sleep(duration.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
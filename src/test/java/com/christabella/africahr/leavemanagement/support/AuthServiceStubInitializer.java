@@ -0,0 +1,49 @@
+package com.christabella.africahr.leavemanagement.support;
+
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.context.ApplicationContextInitializer;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.MapPropertySource;
+
+import java.util.Map;
+
+/**
+ * Starts an {@link AuthServiceStub} for a Spring test context and points
+ * {@code auth.service.base-url} at it. The stub is registered as the bean
+ * {@code authServiceStub} so tests can inject it to adjust latency or read
+ * request counts. Use with
+ * {@code @ContextConfiguration(initializers = AuthServiceStubInitializer.class)}
+ * and tune it through test properties:
+ * <pre>
+ * auth-stub.users=5000
+ * auth-stub.latency=lognormal:10ms:250ms
+ * auth-stub.error-rate=0.01
+ * auth-stub.hang-rate=0.001
+ * auth-stub.hang-duration=30s
+ * </pre>
+ */
+public class AuthServiceStubInitializer implements ApplicationContextInitializer<ConfigurableApplicationContext> {
+
+    @Override
+    public void initialize(ConfigurableApplicationContext context) {
+        ConfigurableEnvironment environment = context.getEnvironment();
+
+        AuthServiceStub stub = new AuthServiceStub(environment.getProperty("auth-stub.users", Integer.class, 1000))
+                .withLatency(LatencyProfile.parse(environment.getProperty("auth-stub.latency", "none")))
+                .withErrorRate(environment.getProperty("auth-stub.error-rate", Double.class, 0.0))
+                .withHangRate(environment.getProperty("auth-stub.hang-rate", Double.class, 0.0),
+                        DurationStyle.detectAndParse(environment.getProperty("auth-stub.hang-duration", "30s")))
+                .start();
+
+        environment.getPropertySources().addFirst(new MapPropertySource("authServiceStub",
+                Map.of("auth.service.base-url", stub.getBaseUrl())));
+        context.getBeanFactory().registerSingleton("authServiceStub", stub);
+        context.addApplicationListener(event -> {
+            if (event instanceof ContextClosedEvent) {
+                stub.close();
+            }
+        });
+    }
+}
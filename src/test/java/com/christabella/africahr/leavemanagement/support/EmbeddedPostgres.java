@@ -0,0 +1,62 @@
+package com.christabella.africahr.leavemanagement.support;
+
+import com.christabella.africahr.leavemanagement.Config.LeaveBalanceUniquenessMigration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * JPA slice test against a real, in-process PostgreSQL, for code that relies on PostgreSQL
+ * SQL (data-modifying CTEs, {@code ON CONFLICT}, arrays). The schema is created by
+ * Hibernate from the entities, plus the indexes that are created by migrations. Tests are not wrapped in a transaction, so the code under
+ * test commits like it does in production; clean up with {@code TRUNCATE} between tests.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({EmbeddedPostgres.Config.class, LeaveBalanceUniquenessMigration.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public @interface EmbeddedPostgres {
+
+    @TestConfiguration(proxyBeanMethods = false)
+    class Config {
+
+        private static io.zonky.test.db.postgres.embedded.EmbeddedPostgres server;
+
+        @Bean
+        DataSource dataSource() {
+            return start().getPostgresDatabase();
+        }
+
+        private static synchronized io.zonky.test.db.postgres.embedded.EmbeddedPostgres start() {
+            if (server == null) {
+                try {
+                    server = io.zonky.test.db.postgres.embedded.EmbeddedPostgres.start();
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Could not start embedded PostgreSQL", e);
+                }
+                Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                    try {
+                        server.close();
+                    } catch (IOException ignored) {
+                        // the JVM is going away anyway
+                    }
+                }));
+            }
+            return server;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.christabella.africahr.leavemanagement.support;
+
+import org.springframework.boot.convert.DurationStyle;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Source of per-request delays for {@link AuthServiceStub}.
+ */
+@FunctionalInterface
+public interface LatencyProfile {
+
+    Duration next();
+
+    static LatencyProfile none() {
+        return () -> Duration.ZERO;
+    }
+
+    static LatencyProfile fixed(Duration latency) {
+        return () -> latency;
+    }
+
+    static LatencyProfile uniform(Duration min, Duration max) {
+        long minMicros = min.toNanos() / 1_000;
+        long maxMicros = max.toNanos() / 1_000;
+        return () -> Duration.ofNanos(ThreadLocalRandom.current().nextLong(minMicros, maxMicros + 1) * 1_000);
+    }
+
+    /**
+     * Long-tailed latency: log-normal with the given median whose 99th
+     * percentile lands on {@code p99}.
+     */
+    static LatencyProfile logNormal(Duration median, Duration p99) {
+        double mu = Math.log(median.toNanos());
+        double sigma = (Math.log(p99.toNanos()) - mu) / 2.326;
+        return () -> Duration.ofNanos((long) Math.exp(mu + sigma * ThreadLocalRandom.current().nextGaussian()));
+    }
+
+    /**
+     * Parses {@code none}, {@code fixed:20ms}, {@code uniform:5ms:50ms} or
+     * {@code lognormal:10ms:250ms} (median, p99).
+     */
+    static LatencyProfile parse(String spec) {
+        String[] parts = spec.trim().split(":");
+        return switch (parts[0]) {
+            case "none" -> none();
+            case "fixed" -> fixed(DurationStyle.detectAndParse(parts[1]));
+            case "uniform" -> uniform(DurationStyle.detectAndParse(parts[1]), DurationStyle.detectAndParse(parts[2]));
+            case "lognormal" -> logNormal(DurationStyle.detectAndParse(parts[1]), DurationStyle.detectAndParse(parts[2]));
+            default -> throw new IllegalArgumentException("Unknown latency profile: " + spec);
+        };
+    }
+}